@@ -0,0 +1,113 @@
+package com.example.jobportal.benchmarks;
+
+import com.example.jobportal.search.SavedSearchIndex;
+import com.example.jobportal.search.SavedSearchIndex.SavedQuery;
+import com.github.javafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Time to match one job against a growing number of saved searches: SavedSearchIndex (what
+// JobAlertService runs on every saved job) and, for comparison, checking every saved search in turn.
+// Titles and cities come from the same Faker providers as DataGenerator, with a fixed seed. A search
+// is a word from a job title (sometimes cut short), a city, or both.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class AlertMatchingBenchmark {
+
+    private static final int JOBS = 1 << 12;
+    private static final int CITIES = 500;
+
+    @Param({ "1000", "10000", "100000", "500000" })
+    public int savedSearches;
+
+    private SavedSearchIndex index;
+    private List<SavedQuery> queries;
+    private String[] titles;
+    private String[] locations;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        Faker faker = new Faker(random);
+        Set<String> cityPool = new LinkedHashSet<>();
+        while (cityPool.size() < CITIES) {
+            cityPool.add(faker.address().city());
+        }
+        String[] cities = cityPool.toArray(String[]::new);
+
+        titles = new String[JOBS];
+        locations = new String[JOBS];
+        for (int i = 0; i < JOBS; i++) {
+            titles[i] = faker.job().title();
+            locations[i] = cities[random.nextInt(cities.length)];
+        }
+
+        index = new SavedSearchIndex();
+        queries = new ArrayList<>(savedSearches);
+        for (int id = 0; id < savedSearches; id++) {
+            String[] words = faker.job().title().split(" ");
+            String word = words[random.nextInt(words.length)];
+            if (word.length() > 4 && random.nextInt(4) == 0) {
+                word = word.substring(0, 3 + random.nextInt(word.length() - 3));
+            }
+            int kind = random.nextInt(10);
+            String title = kind < 8 ? word : null;
+            String location = kind >= 5 ? cities[random.nextInt(cities.length)] : null;
+            long userId = id / 5;
+            index.put(id, userId, title, location);
+            queries.add(new SavedQuery(id, userId, SavedSearchIndex.normalize(title),
+                    SavedSearchIndex.normalize(location)));
+        }
+
+        // Matching cost grows with the matches found, so put the scores in terms of matches
+        long matches = 0;
+        for (int i = 0; i < JOBS; i++) {
+            matches += index.match(titles[i], locations[i]).size();
+        }
+        System.out.printf("%n%d saved searches: %.1f matches per job%n", savedSearches, (double) matches / JOBS);
+    }
+
+    @Benchmark
+    public int index() {
+        int job = next++ & (JOBS - 1);
+        return index.match(titles[job], locations[job]).size();
+    }
+
+    @Benchmark
+    public int scanAll() {
+        int job = next++ & (JOBS - 1);
+        String title = titles[job].toLowerCase(Locale.ROOT);
+        String location = locations[job].toLowerCase(Locale.ROOT);
+        int matches = 0;
+        for (SavedQuery query : queries) {
+            if ((query.title() == null || title.contains(query.title()))
+                    && (query.location() == null || location.contains(query.location()))) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.jobportal.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Prints current JMH results next to a stored baseline (both from -rf json), with the relative
+// change of each score. Scores are times per operation, so a positive change is a slowdown.
+public final class BaselineComparison {
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2 || args[0].isBlank()) {
+            throw new IllegalArgumentException("Usage: BaselineComparison <baseline.json> <current.json>");
+        }
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> current = load(new File(args[1]));
+
+        System.out.printf("%-75s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode now = entry.getValue().get("primaryMetric");
+            JsonNode before = baseline.containsKey(entry.getKey())
+                    ? baseline.get(entry.getKey()).get("primaryMetric") : null;
+            String unit = now.get("scoreUnit").asText();
+            double score = now.get("score").asDouble();
+            if (before == null) {
+                System.out.printf("%-75s %14s %14s %9s%n", entry.getKey(), "-", format(score, unit), "new");
+                continue;
+            }
+            double baseScore = before.get("score").asDouble();
+            double change = baseScore == 0 ? 0 : (score - baseScore) / baseScore * 100;
+            System.out.printf("%-75s %14s %14s %+8.1f%%%n", entry.getKey(), format(baseScore, unit),
+                    format(score, unit), change);
+        }
+    }
+
+    // Benchmark name plus its parameters, e.g. SearchBenchmark.broad{engine=trigram, jobs=20000}
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.get("benchmark").asText()
+                    .replace("com.example.jobportal.benchmarks.", ""));
+            JsonNode params = result.get("params");
+            if (params != null) {
+                key.append('{');
+                for (Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+                    Map.Entry<String, JsonNode> param = it.next();
+                    key.append(param.getKey()).append('=').append(param.getValue().asText());
+                    if (it.hasNext()) {
+                        key.append(", ");
+                    }
+                }
+                key.append('}');
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static String format(double score, String unit) {
+        return String.format("%.3f %s", score, unit);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.jobportal.benchmarks;
+
+import com.example.jobportal.JobportalApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Starts the real application context, without a web server, against a private in-memory H2
+// database, so benchmarks exercise the same beans and configuration as production
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... extraProperties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.flyway.enabled=false",
+                "--app.datasource.warm-up=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.springframework.jdbc.datasource=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                "--logging.level.org.hibernate.engine.jdbc.connections=WARN",
+                "--logging.level.com.zaxxer.hikari=WARN",
+                "--logging.level.com.example.jobportal=WARN"));
+        for (String property : extraProperties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(JobportalApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.jobportal.benchmarks;
+
+import com.example.jobportal.geo.GeoIndex;
+import com.example.jobportal.geo.GeoIndex.Hit;
+import com.example.jobportal.geo.GeoPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Radius searches (?near=lat,lon&radiusKm=) over generated job coordinates: GeoIndex, as GeoJobIndex
+// runs it, for the first page of 50 and for every job in range, against measuring every job. Most
+// jobs sit on a city centre, as geocoded jobs do; the rest are spread up to 30 km around one.
+// GeoIndexTest checks the index against the same scan.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class GeoSearchBenchmark {
+
+    private static final int CITIES = 3000;
+    private static final int QUERIES = 1 << 10;
+    private static final int PAGE = 50;
+
+    @Param({ "100000", "1000000" })
+    public int jobs;
+
+    @Param({ "25", "100" })
+    public double radiusKm;
+
+    private GeoIndex index;
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[] queryLatitudes;
+    private double[] queryLongitudes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        double[] cityLatitudes = new double[CITIES];
+        double[] cityLongitudes = new double[CITIES];
+        for (int c = 0; c < CITIES; c++) {
+            // Land-ish latitudes, a quarter of the cities in the India box
+            boolean india = c % 4 == 0;
+            cityLatitudes[c] = india ? 8 + random.nextDouble() * 26 : -45 + random.nextDouble() * 105;
+            cityLongitudes[c] = india ? 68 + random.nextDouble() * 29 : -180 + random.nextDouble() * 360;
+        }
+
+        index = new GeoIndex();
+        latitudes = new double[jobs];
+        longitudes = new double[jobs];
+        for (int id = 0; id < jobs; id++) {
+            // Skewed towards the first cities, like jobs towards big ones
+            int city = (int) (CITIES * Math.pow(random.nextDouble(), 2));
+            double latitude = cityLatitudes[city];
+            double longitude = cityLongitudes[city];
+            if (random.nextInt(10) < 3) {
+                latitude += (random.nextDouble() - 0.5) * 0.54;
+                longitude = wrap(longitude + (random.nextDouble() - 0.5) * 0.54 / Math.cos(Math.toRadians(latitude)));
+            }
+            latitudes[id] = latitude;
+            longitudes[id] = longitude;
+            index.put(id, latitude, longitude);
+        }
+
+        queryLatitudes = new double[QUERIES];
+        queryLongitudes = new double[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            int city = (int) (CITIES * Math.pow(random.nextDouble(), 2));
+            queryLatitudes[q] = cityLatitudes[city] + (random.nextDouble() - 0.5) * 0.2;
+            queryLongitudes[q] = wrap(cityLongitudes[city] + (random.nextDouble() - 0.5) * 0.2);
+        }
+
+        long found = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            found += index.near(queryLatitudes[q], queryLongitudes[q], radiusKm, 0).size();
+        }
+        System.out.printf("%n%d jobs at %d points, %.0f km: %.1f jobs in range per query%n",
+                jobs, index.pointCount(), radiusKm, (double) found / QUERIES);
+    }
+
+    @Benchmark
+    public int indexPage() {
+        int q = next++ & (QUERIES - 1);
+        return index.near(queryLatitudes[q], queryLongitudes[q], radiusKm, PAGE).size();
+    }
+
+    @Benchmark
+    public int indexAll() {
+        int q = next++ & (QUERIES - 1);
+        return index.near(queryLatitudes[q], queryLongitudes[q], radiusKm, 0).size();
+    }
+
+    @Benchmark
+    public int scanPage() {
+        int q = next++ & (QUERIES - 1);
+        List<Hit> hits = scan(queryLatitudes[q], queryLongitudes[q]);
+        return Math.min(PAGE, hits.size());
+    }
+
+    // Every job measured, nearest first and ties by id, as GeoIndex.near orders them
+    private List<Hit> scan(double latitude, double longitude) {
+        List<Hit> hits = new ArrayList<>();
+        for (int id = 0; id < jobs; id++) {
+            double distance = GeoPoint.distanceKm(latitude, longitude, latitudes[id], longitudes[id]);
+            if (distance <= radiusKm) {
+                hits.add(new Hit(id, distance));
+            }
+        }
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm).thenComparingLong(Hit::id));
+        return hits;
+    }
+
+    private static double wrap(double longitude) {
+        return longitude > 180 ? longitude - 360 : longitude < -180 ? longitude + 360 : longitude;
+    }
+}
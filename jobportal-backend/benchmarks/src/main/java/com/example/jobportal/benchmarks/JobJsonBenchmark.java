@@ -0,0 +1,68 @@
+package com.example.jobportal.benchmarks;
+
+import com.example.jobportal.model.Job;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialization of Job lists with the application's ObjectMapper, as GET /api/jobs and /search do
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobJsonBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private ObjectWriter writer;
+    private List<Job> jobs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        writer = context.getBean(ObjectMapper.class).writerFor(Job.class).withType(
+                context.getBean(ObjectMapper.class).getTypeFactory().constructCollectionType(List.class, Job.class));
+        jobs = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            Job job = new Job(i, "Senior Software Engineer " + i,
+                    "Build and operate services that match candidates with open positions. ".repeat(3),
+                    "Company " + (i % 50), "City " + (i % 200));
+            job.setVersion(i % 3);
+            job.setUpdatedAt(Instant.ofEpochSecond(1_700_000_000L + i));
+            jobs.add(job);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(jobs);
+    }
+}
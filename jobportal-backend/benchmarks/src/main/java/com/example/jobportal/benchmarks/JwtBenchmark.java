@@ -0,0 +1,85 @@
+package com.example.jobportal.benchmarks;
+
+import com.example.jobportal.security.JwtUtil;
+import com.example.jobportal.security.VerifiedToken;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Token issue and verification, with and without the verified-token cache. doubleParse is the
+// per-request check JwtFilter made before JwtUtil.verify, for comparison with verify.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    @Param({ "true", "false" })
+    public boolean verifiedCache;
+
+    private ConfigurableApplicationContext context;
+    private JwtUtil jwtUtil;
+    private String token;
+    private Key key;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("jwt.verified-cache.enabled=" + verifiedCache);
+        jwtUtil = context.getBean(JwtUtil.class);
+        token = jwtUtil.generateToken("bench@example.com", "ROLE_USER");
+        key = Keys.hmacShaKeyFor(context.getEnvironment().getRequiredProperty("jwt.secret")
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("bench@example.com", "ROLE_USER");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String getEmailFromToken() {
+        return jwtUtil.getEmailFromToken(token);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verify() {
+        return jwtUtil.verify(token);
+    }
+
+    // validateToken then getEmailFromToken as they were: each builds a parser and checks the signature
+    @Benchmark
+    public String doubleParse() {
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.jobportal.benchmarks;
+
+import com.example.jobportal.model.User;
+import com.example.jobportal.repository.UserRepository;
+import com.example.jobportal.security.JwtFilter;
+import com.example.jobportal.security.JwtUtil;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+// One authenticated request through JwtFilter: token verification, principal lookup (cached after
+// the first call) and SecurityContext setup, with a chain that does nothing
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private ConfigurableApplicationContext context;
+    private JwtFilter jwtFilter;
+    private String authorization;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        context.getBean(UserRepository.class).save(new User("bench@example.com", "Bench", "User", "unused", "USER"));
+        jwtFilter = context.getBean(JwtFilter.class);
+        authorization = "Bearer " + context.getBean(JwtUtil.class).generateToken("bench@example.com", "ROLE_USER");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void authenticatedRequest(Blackhole blackhole) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/jobs");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            jwtFilter.doFilter(request, response, NO_OP_CHAIN);
+            blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.jobportal.benchmarks;
+
+import com.example.jobportal.model.Job;
+import com.example.jobportal.monitoring.RequestMonitoringFilter;
+import com.example.jobportal.repository.JobRepository;
+import com.example.jobportal.service.JobService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Cost of the request instrumentation: RequestMonitoringFilter (statement count, slow-request check)
+// plus the @Timed service aspect, compared with the same call uninstrumented.
+// emptyRequest isolates the fixed per-request cost, jobById adds a real JobService.getJobById on H2.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MonitoringBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({ "true", "false" })
+    public boolean instrumented;
+
+    private ConfigurableApplicationContext context;
+    private RequestMonitoringFilter monitoringFilter;
+    private JobService jobService;
+    private Long jobId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("management.observations.annotations.enabled=" + instrumented);
+        monitoringFilter = context.getBean(RequestMonitoringFilter.class);
+        jobService = context.getBean(JobService.class);
+        jobId = context.getBean(JobRepository.class)
+                .save(new Job("Backend Engineer", "Java and PostgreSQL", "Acme", "Berlin")).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int emptyRequest() throws ServletException, IOException {
+        return handle(NO_OP_CHAIN);
+    }
+
+    @Benchmark
+    public int jobById() throws ServletException, IOException {
+        return handle((request, response) -> jobService.getJobById(jobId));
+    }
+
+    private int handle(FilterChain chain) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/jobs/" + jobId);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/jobs/{id}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        if (instrumented) {
+            monitoringFilter.doFilter(request, response, chain);
+        } else {
+            chain.doFilter(request, response);
+        }
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.jobportal.benchmarks;
+
+import com.example.jobportal.search.Bm25Index;
+import com.github.javafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Bm25Index (jobs.search.ranking=bm25) over generated jobs: the first page of 20 from the bounded
+// top-k heaps, against keeping every match (k = all), scored on one thread or on a pool across
+// segments of 16k jobs. Titles, companies and lorem descriptions come from the same Faker providers
+// as DataGenerator, with a fixed seed; a third of the descriptions mention another job title and
+// company, so query words also turn up in descriptions of jobs they are not about.
+// Setup also reports ranking quality: a query is one or two words of a job title plus a word of a
+// company name, and the jobs relevant to it are those whose title has the title words and whose
+// company has the company word. Precision@10 and MRR are printed for BM25F with the default boosts,
+// plain BM25 (every field boost 1) and the unranked order (matching jobs by id).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RankingBenchmark {
+
+    private static final int SEGMENT_SIZE = 1 << 14;
+    private static final int COMPANIES = 2000;
+    private static final int QUERIES = 1 << 10;
+    private static final int EVALUATED_QUERIES = 300;
+    private static final int PAGE = 20;
+
+    @Param({ "20000", "200000" })
+    public int jobs;
+
+    @Param({ "1", "4" })
+    public int threads;
+
+    private Bm25Index index;
+    private ExecutorService executor;
+    private String[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        Faker faker = new Faker(random);
+        Set<String> companyPool = new LinkedHashSet<>();
+        while (companyPool.size() < COMPANIES) {
+            companyPool.add(faker.company().name());
+        }
+        String[] companyNames = companyPool.toArray(String[]::new);
+
+        String[] titles = new String[jobs];
+        String[] companies = new String[jobs];
+        String[] descriptions = new String[jobs];
+        index = new Bm25Index(3, 2, 1, 1.2, 0.75, SEGMENT_SIZE);
+        Bm25Index unboosted = new Bm25Index(1, 1, 1, 1.2, 0.75, SEGMENT_SIZE);
+        List<List<String>> titleTokens = new ArrayList<>(jobs);
+        List<List<String>> companyTokens = new ArrayList<>(jobs);
+        for (int id = 0; id < jobs; id++) {
+            titles[id] = faker.job().title();
+            // Skewed towards the first companies, like DataGenerator's Zipf sampling
+            companies[id] = companyNames[(int) (COMPANIES * Math.pow(random.nextDouble(), 2))];
+            descriptions[id] = faker.lorem().paragraph(2 + random.nextInt(4));
+            if (random.nextInt(3) == 0) {
+                descriptions[id] += " Works with the " + faker.job().title() + " team of "
+                        + companyNames[random.nextInt(COMPANIES)] + ".";
+            }
+            index.put(id, titles[id], companies[id], descriptions[id]);
+            unboosted.put(id, titles[id], companies[id], descriptions[id]);
+            titleTokens.add(Bm25Index.tokenize(titles[id]));
+            companyTokens.add(Bm25Index.tokenize(companies[id]));
+        }
+
+        queries = new String[QUERIES];
+        String[][] titleWords = new String[QUERIES][];
+        String[] companyWords = new String[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            int target;
+            do {
+                target = random.nextInt(jobs);
+            } while (titleTokens.get(target).isEmpty() || companyTokens.get(target).isEmpty());
+            List<String> title = titleTokens.get(target);
+            List<String> company = companyTokens.get(target);
+            int from = random.nextInt(title.size());
+            titleWords[q] = title.subList(from, Math.min(title.size(), from + 1 + random.nextInt(2))).toArray(String[]::new);
+            companyWords[q] = company.get(random.nextInt(company.size()));
+            queries[q] = String.join(" ", titleWords[q]) + " " + companyWords[q];
+        }
+
+        double[] boosted = new double[2];
+        double[] plain = new double[2];
+        double[] unranked = new double[2];
+        double relevantPerQuery = 0;
+        for (int q = 0; q < EVALUATED_QUERIES; q++) {
+            Set<Long> relevant = new HashSet<>();
+            List<Long> unrankedOrder = new ArrayList<>();
+            Set<String> queryTerms = new HashSet<>(Bm25Index.tokenize(queries[q]));
+            for (int id = 0; id < jobs; id++) {
+                List<String> title = titleTokens.get(id);
+                List<String> company = companyTokens.get(id);
+                if (title.containsAll(List.of(titleWords[q])) && company.contains(companyWords[q])) {
+                    relevant.add((long) id);
+                }
+                if (unrankedOrder.size() < 10 && matchesAny(queryTerms, title, company, descriptions[id])) {
+                    unrankedOrder.add((long) id);
+                }
+            }
+            relevantPerQuery += relevant.size();
+            accumulate(boosted, hitIds(index.search(queries[q], 0, 10, null)), relevant);
+            accumulate(plain, hitIds(unboosted.search(queries[q], 0, 10, null)), relevant);
+            accumulate(unranked, unrankedOrder, relevant);
+        }
+        System.out.printf(Locale.ROOT, "%n%d jobs in %d segments, %.1f relevant jobs per query%n", jobs,
+                index.segmentCount(), relevantPerQuery / EVALUATED_QUERIES);
+        System.out.printf(Locale.ROOT, "  BM25F (3/2/1): P@10 %.3f  MRR %.3f%n", boosted[0] / EVALUATED_QUERIES,
+                boosted[1] / EVALUATED_QUERIES);
+        System.out.printf(Locale.ROOT, "  BM25 (1/1/1):  P@10 %.3f  MRR %.3f%n", plain[0] / EVALUATED_QUERIES,
+                plain[1] / EVALUATED_QUERIES);
+        System.out.printf(Locale.ROOT, "  unranked:      P@10 %.3f  MRR %.3f%n", unranked[0] / EVALUATED_QUERIES,
+                unranked[1] / EVALUATED_QUERIES);
+
+        executor = threads == 1 ? null : Executors.newFixedThreadPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public Bm25Index.TopHits topK() {
+        return index.search(queries[next++ & (QUERIES - 1)], 0, PAGE, executor);
+    }
+
+    // Every match kept and ordered, then the first page taken
+    @Benchmark
+    public List<Bm25Index.Hit> allMatches() {
+        List<Bm25Index.Hit> hits = index.search(queries[next++ & (QUERIES - 1)], 0, Integer.MAX_VALUE, executor).hits();
+        return hits.subList(0, Math.min(PAGE, hits.size()));
+    }
+
+    private static boolean matchesAny(Set<String> queryTerms, List<String> title, List<String> company,
+            String description) {
+        for (String term : queryTerms) {
+            if (title.contains(term) || company.contains(term) || Bm25Index.tokenize(description).contains(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Long> hitIds(Bm25Index.TopHits top) {
+        return top.hits().stream().map(Bm25Index.Hit::id).toList();
+    }
+
+    // Precision over the first 10 (out of the relevant jobs there are, up to 10) and reciprocal rank
+    private static void accumulate(double[] totals, List<Long> ranking, Set<Long> relevant) {
+        int found = 0;
+        double reciprocalRank = 0;
+        for (int rank = 0; rank < ranking.size(); rank++) {
+            if (relevant.contains(ranking.get(rank))) {
+                found++;
+                if (reciprocalRank == 0) {
+                    reciprocalRank = 1.0 / (rank + 1);
+                }
+            }
+        }
+        totals[0] += (double) found / Math.min(10, relevant.size());
+        totals[1] += reciprocalRank;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.jobportal.benchmarks;
+
+import com.example.jobportal.security.RateLimitFilter;
+import com.example.jobportal.security.RateLimiter;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Per-request cost of RateLimitFilter with a no-op chain, on a route without a limit and on a limited
+// route whose limit is never reached, plus RateLimiter alone for one hot key and for a stream of
+// distinct keys (bucket creation, then the untracked path once max-keys is reached; buckets refill
+// at once and are evicted before each iteration)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimitBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+    private static final int DISTINCT_KEYS = 1 << 20;
+
+    private ConfigurableApplicationContext context;
+    private RateLimitFilter filter;
+    private MockHttpServletRequest unlimitedRequest;
+    private MockHttpServletRequest limitedRequest;
+    private MockHttpServletResponse response;
+    private RateLimiter limiter;
+    private RateLimiter churnLimiter;
+    private String[] keys;
+    private final AtomicInteger nextKey = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("security.rate-limit.routes.search.limit=1000000000",
+                "security.rate-limit.routes.search.period=1s");
+        filter = context.getBean(RateLimitFilter.class);
+        unlimitedRequest = new MockHttpServletRequest("GET", "/api/jobs/42");
+        unlimitedRequest.setServletPath("/api/jobs/42");
+        limitedRequest = new MockHttpServletRequest("GET", "/api/jobs/search");
+        // Route matchers look at the servlet path, as set by the DispatcherServlet mapping
+        limitedRequest.setServletPath("/api/jobs/search");
+        response = new MockHttpServletResponse();
+        limiter = new RateLimiter(1_000_000_000, Duration.ofSeconds(1), 1_000_000_000, 100_000);
+        churnLimiter = new RateLimiter(1_000_000_000, Duration.ofSeconds(1), 1, 100_000);
+        keys = new String[DISTINCT_KEYS];
+        for (int i = 0; i < DISTINCT_KEYS; i++) {
+            keys[i] = "address:10." + (i >> 16) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void evictIdle() {
+        churnLimiter.evictIdle();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int unlimitedRoute() throws Exception {
+        filter.doFilter(unlimitedRequest, response, NO_OP_CHAIN);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int limitedRoute() throws Exception {
+        filter.doFilter(limitedRequest, response, NO_OP_CHAIN);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public long tryAcquireSameKey() {
+        return limiter.tryAcquire("address:127.0.0.1");
+    }
+
+    @Benchmark
+    public long tryAcquireDistinctKeys() {
+        return churnLimiter.tryAcquire(keys[nextKey.getAndIncrement() & (DISTINCT_KEYS - 1)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long tryAcquireSameKeyContended() {
+        return limiter.tryAcquire("address:127.0.0.1");
+    }
+}
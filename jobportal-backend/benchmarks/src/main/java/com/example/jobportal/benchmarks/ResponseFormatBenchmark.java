@@ -0,0 +1,87 @@
+package com.example.jobportal.benchmarks;
+
+import com.example.jobportal.datagen.DataGenerator;
+import com.example.jobportal.model.JobSummary;
+import com.example.jobportal.service.JobService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// GET /api/jobs bodies per negotiated format: serialization alone, and serialization plus gzip at
+// the default level as the server's on-the-fly compression does. The list is JobService.getAllJobs
+// over generated jobs, so descriptions (snippets) have realistic lengths. Body sizes are printed
+// once per trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseFormatBenchmark {
+
+    @Param({ "json", "cbor", "smile" })
+    public String format;
+
+    @Param({ "1000" })
+    public int jobs;
+
+    private ConfigurableApplicationContext context;
+    private ObjectWriter writer;
+    private List<JobSummary> list;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkContext.start("datagen.seed=42");
+        context.getBean(DataGenerator.class).generate(jobs, 0);
+        list = context.getBean(JobService.class).getAllJobs();
+        ObjectMapper mapper = switch (format) {
+            case "json" -> context.getBean(ObjectMapper.class);
+            case "cbor" -> context.getBean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper();
+            case "smile" -> context.getBean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        writer = mapper.writer();
+        System.out.printf("%n%s, %d jobs: %d bytes, %d bytes gzipped%n", format, list.size(),
+                serialize().length, serializeAndGzip().length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(list);
+    }
+
+    @Benchmark
+    public byte[] serializeAndGzip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192)) {
+            writer.writeValue(gzip, list);
+        }
+        return out.toByteArray();
+    }
+}
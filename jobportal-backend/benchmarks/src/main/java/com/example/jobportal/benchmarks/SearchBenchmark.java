@@ -0,0 +1,79 @@
+package com.example.jobportal.benchmarks;
+
+import com.example.jobportal.datagen.DataGenerator;
+import com.example.jobportal.model.JobSummary;
+import com.example.jobportal.search.JobSearchEngine;
+import com.example.jobportal.service.JobService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JobService.searchJobs over a generated catalog in embedded H2, for each search engine.
+// The dataset comes from DataGenerator with a fixed seed, so every run searches the same rows.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    @Param({ "jpql", "trigram" })
+    public String engine;
+
+    @Param({ "20000" })
+    public int jobs;
+
+    private ConfigurableApplicationContext context;
+    private JobService jobService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        context = BenchmarkContext.start("jobs.search.engine=" + engine, "datagen.seed=42");
+        jobService = context.getBean(JobService.class);
+        // The generator writes behind JPA: hand the new rows to the engine like a bulk load does
+        context.getBean(DataGenerator.class).generate(jobs, 0);
+        jobService.onJobsImported(0);
+        JobSearchEngine searchEngine = context.getBean(JobSearchEngine.class);
+        while (!searchEngine.isReady()) {
+            Thread.sleep(50);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Selective: a title word that only some jobs have
+    @Benchmark
+    public List<JobSummary> titleOnly() {
+        return jobService.searchJobs("engineer", "");
+    }
+
+    // Both fields constrained, few matches
+    @Benchmark
+    public List<JobSummary> titleAndLocation() {
+        return jobService.searchJobs("manager", "port");
+    }
+
+    // A short query whose trigrams match most of the catalog
+    @Benchmark
+    public List<JobSummary> broad() {
+        return jobService.searchJobs("an", "");
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.jobportal.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// Latencies (microseconds) and response statuses of one operation. Each worker has its own
+// instances, merged after the run, so recording needs no synchronization.
+final class EndpointStats {
+
+    // Up to one minute at three significant digits
+    private static final long HIGHEST_TRACKABLE_MICROS = 60_000_000L;
+
+    final Histogram latencies = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    final Map<String, Long> statuses = new TreeMap<>();
+    long errors;
+
+    void record(long micros, String status, boolean success) {
+        latencies.recordValue(Math.min(Math.max(micros, 1), HIGHEST_TRACKABLE_MICROS));
+        statuses.merge(status, 1L, Long::sum);
+        if (!success) {
+            errors++;
+        }
+    }
+
+    void add(EndpointStats other) {
+        latencies.add(other.latencies);
+        other.statuses.forEach((status, count) -> statuses.merge(status, count, Long::sum));
+        errors += other.errors;
+    }
+
+    long requests() {
+        return latencies.getTotalCount();
+    }
+
+    double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
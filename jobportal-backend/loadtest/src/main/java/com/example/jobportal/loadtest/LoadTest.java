@@ -0,0 +1,217 @@
+package com.example.jobportal.loadtest;
+
+import com.example.jobportal.JobportalApplication;
+import com.example.jobportal.datagen.DataGenerator;
+import com.example.jobportal.repository.JobRepository;
+import com.example.jobportal.search.JobSearchEngine;
+import com.example.jobportal.service.JobService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// End-to-end load test: boots the whole application on a random port against an in-memory H2
+// database in PostgreSQL mode, seeds it with DataGenerator, drives the configured traffic mix
+// over HTTP and writes a JSON report. Exits with status 1 when a threshold is missed, so it can
+// gate a release. Needs no network access beyond localhost.
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.load(args);
+        boolean passed;
+        try (ConfigurableApplicationContext app = startApplication(config)) {
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            long maxJobId = seed(app, config);
+            DataGenerator dataGenerator = app.getBean(DataGenerator.class);
+            LoadTestRun run = new LoadTestRun(config, URI.create("http://localhost:" + port), maxJobId,
+                    config.getLong("users"), app.getEnvironment().getProperty("datagen.user-password", "password123"),
+                    dataGenerator::userEmail);
+
+            log("Running %d workers: %s warm-up, %s measured", config.getInt("concurrency"),
+                    config.get("warmup"), config.get("duration"));
+            Map<Operation, EndpointStats> stats = run.execute();
+            Map<String, Object> report = report(config, run, stats);
+            passed = (Boolean) report.get("passed");
+
+            File file = new File(config.get("report"));
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+            printSummary(report);
+            log("Report written to %s: %s", file.getPath(), passed ? "PASSED" : "FAILED");
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestConfig config) {
+        String url = "jdbc:h2:mem:loadtest-" + UUID.randomUUID()
+                + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.hikari.maximum-pool-size=" + Math.max(10, config.getInt("concurrency") / 2),
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.flyway.enabled=false",
+                "--spring.threads.virtual.enabled=" + config.getBoolean("virtual-threads"),
+                "--datagen.seed=" + config.get("seed"),
+                // All workers share one address, so the per-client limits would only measure the limiter
+                "--security.rate-limit.enabled=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.springframework.jdbc.datasource=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                "--logging.level.org.hibernate.engine.jdbc.connections=WARN",
+                "--logging.level.com.zaxxer.hikari=WARN",
+                "--logging.level.com.example.jobportal=WARN",
+                "--logging.level.com.example.jobportal.datagen=INFO"));
+        if (config.getBoolean("read-replica")) {
+            // A second, read-only pool on the same in-memory database: exercises the read/write routing
+            // without replication lag
+            args.add("--app.datasource.replicas[0].url=" + url);
+        }
+        args.addAll(config.applicationArgs());
+        log("Starting the application (virtual threads: %s, read replica: %s)", config.getBoolean("virtual-threads"),
+                config.getBoolean("read-replica"));
+        return new SpringApplicationBuilder(JobportalApplication.class).run(args.toArray(String[]::new));
+    }
+
+    // Generates the dataset behind JPA, then lets the search engine and version registry catch up
+    private static long seed(ConfigurableApplicationContext app, LoadTestConfig config) throws InterruptedException {
+        log("Seeding %d jobs and %d users", config.getLong("jobs"), config.getLong("users"));
+        app.getBean(DataGenerator.class).generate(config.getLong("jobs"), config.getLong("users"));
+        app.getBean(JobService.class).onJobsImported(0);
+        JobSearchEngine searchEngine = app.getBean(JobSearchEngine.class);
+        while (!searchEngine.isReady()) {
+            Thread.sleep(100);
+        }
+        return app.getBean(JobRepository.class).findMaxId();
+    }
+
+    private static Map<String, Object> report(LoadTestConfig config, LoadTestRun run,
+            Map<Operation, EndpointStats> stats) {
+        double seconds = run.measured().toNanos() / 1e9;
+        long requests = 0;
+        long errors = 0;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpoint = entry.getValue();
+            requests += endpoint.requests();
+            errors += endpoint.errors;
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("mean", round(endpoint.latencies.getMean() / 1000.0));
+            latency.put("p50", endpoint.percentileMillis(50));
+            latency.put("p95", endpoint.percentileMillis(95));
+            latency.put("p99", endpoint.percentileMillis(99));
+            latency.put("p999", endpoint.percentileMillis(99.9));
+            latency.put("max", endpoint.latencies.getMaxValue() / 1000.0);
+
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("requests", endpoint.requests());
+            values.put("errors", endpoint.errors);
+            values.put("statuses", endpoint.statuses);
+            values.put("throughput", round(endpoint.requests() / seconds));
+            values.put("latencyMs", latency);
+            endpoints.put(entry.getKey().key(), values);
+        }
+        double throughput = requests / seconds;
+        double errorRate = requests == 0 ? 0 : (double) errors / requests;
+
+        List<Map<String, Object>> checks = new ArrayList<>();
+        boolean passed = true;
+        for (Map.Entry<String, Double> threshold : config.thresholds().entrySet()) {
+            String name = threshold.getKey();
+            double limit = threshold.getValue();
+            Double actual;
+            boolean ok;
+            if (name.equals("min-throughput")) {
+                actual = throughput;
+                ok = throughput >= limit;
+            } else if (name.equals("max-error-rate")) {
+                actual = errorRate;
+                ok = errorRate <= limit;
+            } else {
+                // <operation>.<percentile>: the latency in ms must not exceed the limit
+                int dot = name.lastIndexOf('.');
+                Object endpoint = dot < 0 ? null : endpoints.get(name.substring(0, dot));
+                if (endpoint == null) {
+                    throw new IllegalArgumentException("Unknown threshold: threshold." + name);
+                }
+                @SuppressWarnings("unchecked")
+                Map<String, Object> latency = (Map<String, Object>) ((Map<String, Object>) endpoint).get("latencyMs");
+                Object value = latency.get(name.substring(dot + 1));
+                if (value == null) {
+                    throw new IllegalArgumentException("Unknown percentile in threshold." + name);
+                }
+                boolean measured = ((Number) ((Map<?, ?>) endpoint).get("requests")).longValue() > 0;
+                actual = measured ? ((Number) value).doubleValue() : null;
+                ok = !measured || actual <= limit;
+            }
+            Map<String, Object> check = new LinkedHashMap<>();
+            check.put("name", name);
+            check.put("limit", limit);
+            check.put("actual", actual == null ? null : round(actual));
+            check.put("passed", ok);
+            checks.add(check);
+            passed &= ok;
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config.asMap());
+        report.put("measuredSeconds", round(seconds));
+        report.put("requests", requests);
+        report.put("errors", errors);
+        report.put("errorRate", errorRate);
+        report.put("throughput", round(throughput));
+        report.put("endpoints", endpoints);
+        report.put("thresholds", checks);
+        report.put("passed", passed);
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printSummary(Map<String, Object> report) {
+        System.out.printf("%-10s %9s %7s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s",
+                "p50 ms", "p95 ms", "p99 ms", "p999 ms");
+        ((Map<String, Map<String, Object>>) report.get("endpoints")).forEach((name, values) -> {
+            Map<String, Object> latency = (Map<String, Object>) values.get("latencyMs");
+            System.out.printf("%-10s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", name, values.get("requests"),
+                    values.get("errors"), values.get("throughput"), latency.get("p50"), latency.get("p95"),
+                    latency.get("p99"), latency.get("p999"));
+        });
+        System.out.printf("total: %d requests, %.1f req/s, error rate %.4f%n", report.get("requests"),
+                report.get("throughput"), report.get("errorRate"));
+        for (Map<String, Object> check : (List<Map<String, Object>>) report.get("thresholds")) {
+            System.out.printf("  %-4s %-22s limit %-10s actual %s%n", (Boolean) check.get("passed") ? "ok" : "FAIL",
+                    check.get("name"), check.get("limit"), check.get("actual"));
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.printf("[loadtest] " + format + "%n", args);
+    }
+}
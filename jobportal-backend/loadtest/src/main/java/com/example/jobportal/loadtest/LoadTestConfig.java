@@ -0,0 +1,103 @@
+package com.example.jobportal.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+// loadtest.properties overlaid with --key=value arguments. Arguments for keys the load test does
+// not know are handed to the application under test (e.g. --jobs.search.engine=jpql).
+final class LoadTestConfig {
+
+    private final Properties properties = new Properties();
+    private final List<String> applicationArgs = new ArrayList<>();
+
+    static LoadTestConfig load(String[] args) throws IOException {
+        LoadTestConfig config = new LoadTestConfig();
+        try (InputStream defaults = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            config.properties.load(defaults);
+        }
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            String key = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            if (config.properties.containsKey(key) || key.startsWith("mix.") || key.startsWith("threshold.")) {
+                config.properties.setProperty(key, value);
+            } else {
+                config.applicationArgs.add(arg);
+            }
+        }
+        return config;
+    }
+
+    List<String> applicationArgs() {
+        return applicationArgs;
+    }
+
+    String get(String key) {
+        return properties.getProperty(key);
+    }
+
+    int getInt(String key) {
+        return Integer.parseInt(properties.getProperty(key).trim());
+    }
+
+    long getLong(String key) {
+        return Long.parseLong(properties.getProperty(key).trim());
+    }
+
+    boolean getBoolean(String key) {
+        return Boolean.parseBoolean(properties.getProperty(key).trim());
+    }
+
+    // 500ms, 30s, 2m
+    Duration getDuration(String key) {
+        String value = properties.getProperty(key).trim();
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Unsupported duration for " + key + ": " + value);
+        };
+    }
+
+    // Weight per operation name, in Operation order
+    Map<Operation, Integer> mix() {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            String weight = properties.getProperty("mix." + operation.key());
+            mix.put(operation, weight == null ? 0 : Integer.parseInt(weight.trim()));
+        }
+        return mix;
+    }
+
+    // threshold.* entries without the prefix, e.g. "search.p99" -> 500
+    Map<String, Double> thresholds() {
+        Map<String, Double> thresholds = new LinkedHashMap<>();
+        for (String key : properties.stringPropertyNames().stream().sorted().toList()) {
+            if (key.startsWith("threshold.")) {
+                thresholds.put(key.substring("threshold.".length()), Double.parseDouble(properties.getProperty(key)));
+            }
+        }
+        return thresholds;
+    }
+
+    Map<String, String> asMap() {
+        Map<String, String> values = new LinkedHashMap<>();
+        properties.stringPropertyNames().stream().sorted().forEach(key -> values.put(key, properties.getProperty(key)));
+        return values;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.jobportal.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Warm-up followed by the measured phase, with `concurrency` workers sharing one HttpClient
+final class LoadTestRun {
+
+    private final LoadTestConfig config;
+    private final URI baseUri;
+    private final long maxJobId;
+    private final long userCount;
+    private final String userPassword;
+    private final UserEmails userEmails;
+    private volatile boolean measuring;
+    private volatile boolean stopped;
+    private long measuredNanos;
+
+    interface UserEmails {
+        String of(long index);
+    }
+
+    LoadTestRun(LoadTestConfig config, URI baseUri, long maxJobId, long userCount, String userPassword,
+            UserEmails userEmails) {
+        this.config = config;
+        this.baseUri = baseUri;
+        this.maxJobId = maxJobId;
+        this.userCount = userCount;
+        this.userPassword = userPassword;
+        this.userEmails = userEmails;
+    }
+
+    URI baseUri() {
+        return baseUri;
+    }
+
+    long maxJobId() {
+        return maxJobId;
+    }
+
+    long userCount() {
+        return userCount;
+    }
+
+    String userEmail(long index) {
+        return userEmails.of(index);
+    }
+
+    String userPassword() {
+        return userPassword;
+    }
+
+    boolean isMeasuring() {
+        return measuring;
+    }
+
+    boolean isStopped() {
+        return stopped;
+    }
+
+    Duration measured() {
+        return Duration.ofNanos(measuredNanos);
+    }
+
+    Map<Operation, EndpointStats> execute() throws Exception {
+        int concurrency = config.getInt("concurrency");
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<Worker> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(new Worker(this, client, objectMapper, config.getLong("seed") * 31 + i, config.mix()));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        List<Future<?>> running = new ArrayList<>(concurrency);
+        try {
+            for (Worker worker : workers) {
+                running.add(executor.submit(worker));
+            }
+            Thread.sleep(config.getDuration("warmup").toMillis());
+            long started = System.nanoTime();
+            measuring = true;
+            Thread.sleep(config.getDuration("duration").toMillis());
+            measuring = false;
+            measuredNanos = System.nanoTime() - started;
+            stopped = true;
+            for (Future<?> worker : running) {
+                worker.get();
+            }
+        } finally {
+            stopped = true;
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        Map<Operation, EndpointStats> totals = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            EndpointStats total = new EndpointStats();
+            for (Worker worker : workers) {
+                total.add(worker.stats().get(operation));
+            }
+            totals.put(operation, total);
+        }
+        return totals;
+    }
+}
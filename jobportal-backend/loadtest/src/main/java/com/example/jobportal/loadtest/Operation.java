@@ -0,0 +1,28 @@
+package com.example.jobportal.loadtest;
+
+// The requests in the traffic mix, with the status a successful one returns
+enum Operation {
+    GET_BY_ID("get-by-id", 200),
+    SEARCH("search", 200),
+    LIST("list", 200),
+    CREATE("create", 200),
+    UPDATE("update", 200),
+    DELETE("delete", 204),
+    LOGIN("login", 200);
+
+    private final String key;
+    private final int expectedStatus;
+
+    Operation(String key, int expectedStatus) {
+        this.key = key;
+        this.expectedStatus = expectedStatus;
+    }
+
+    String key() {
+        return key;
+    }
+
+    int expectedStatus() {
+        return expectedStatus;
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.jobportal.loadtest;
+
+import com.example.jobportal.service.JobCursor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// One closed-loop client: picks an operation from the mix, sends it, waits for the response,
+// records it (only once the measurement phase has started) and repeats until stopped.
+// Jobs it creates are the only ones it updates or deletes, so reads of seeded jobs never 404.
+final class Worker implements Runnable {
+
+    private static final String[] TITLE_TERMS = { "engineer", "manager", "developer", "analyst", "designer",
+            "consultant", "director", "specialist", "senior", "assistant" };
+    private static final String[] LOCATION_TERMS = { "", "", "", "port", "ville", "north", "lake", "new" };
+
+    private final LoadTestRun run;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final SplittableRandom random;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final List<Long> createdIds = new ArrayList<>();
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private String authorization;
+    private long created;
+
+    Worker(LoadTestRun run, HttpClient client, ObjectMapper objectMapper, long seed, Map<Operation, Integer> mix) {
+        this.run = run;
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.random = new SplittableRandom(seed);
+        this.operations = mix.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+    }
+
+    Map<Operation, EndpointStats> stats() {
+        return stats;
+    }
+
+    @Override
+    public void run() {
+        try {
+            login();
+        } catch (IOException | InterruptedException e) {
+            throw new IllegalStateException("Worker login failed", e);
+        }
+        while (!run.isStopped()) {
+            Operation operation = next();
+            long started = System.nanoTime();
+            String status;
+            boolean success;
+            try {
+                HttpResponse<byte[]> response = send(operation);
+                status = Integer.toString(response.statusCode());
+                success = response.statusCode() == operation.expectedStatus();
+                if (success) {
+                    onSuccess(operation, response);
+                }
+            } catch (IOException e) {
+                status = "io-error";
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (run.isMeasuring()) {
+                stats.get(operation).record((System.nanoTime() - started) / 1000, status, success);
+            }
+        }
+    }
+
+    private Operation next() {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < operations.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                Operation operation = operations[i];
+                // Nothing of our own to change yet
+                if ((operation == Operation.UPDATE || operation == Operation.DELETE) && createdIds.isEmpty()) {
+                    return Operation.CREATE;
+                }
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Empty traffic mix");
+    }
+
+    private HttpResponse<byte[]> send(Operation operation) throws IOException, InterruptedException {
+        return switch (operation) {
+            case GET_BY_ID -> get("/api/jobs/" + (1 + random.nextLong(run.maxJobId())));
+            case SEARCH -> get("/api/jobs/search?title=" + pick(TITLE_TERMS) + "&location="
+                    + URLEncoder.encode(pick(LOCATION_TERMS), StandardCharsets.UTF_8));
+            case LIST -> get("/api/jobs/page?size=50&cursor="
+                    + JobCursor.encode(random.nextLong(run.maxJobId())));
+            case CREATE -> send("POST", "/api/jobs", jobBody());
+            case UPDATE -> send("PUT", "/api/jobs/" + createdIds.get(random.nextInt(createdIds.size())), jobBody());
+            case DELETE -> send("DELETE", "/api/jobs/" + createdIds.remove(createdIds.size() - 1), null);
+            case LOGIN -> send("POST", "/api/auth/login", loginBody());
+        };
+    }
+
+    private void onSuccess(Operation operation, HttpResponse<byte[]> response) throws IOException {
+        if (operation == Operation.CREATE) {
+            JsonNode job = objectMapper.readTree(response.body());
+            createdIds.add(job.get("id").asLong());
+        }
+    }
+
+    private void login() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = send("POST", "/api/auth/login", loginBody());
+        if (response.statusCode() != 200) {
+            throw new IOException("Login returned " + response.statusCode());
+        }
+        authorization = "Bearer " + objectMapper.readTree(response.body()).get("jwt").asText();
+    }
+
+    private String loginBody() throws IOException {
+        return objectMapper.writeValueAsString(Map.of(
+                "email", run.userEmail(random.nextLong(run.userCount())),
+                "password", run.userPassword()));
+    }
+
+    private String jobBody() throws IOException {
+        long n = ++created;
+        return objectMapper.writeValueAsString(Map.of(
+                "title", "Load Test " + pick(TITLE_TERMS) + " " + n,
+                "description", "Created by the load test to exercise the write path.",
+                "company", "Load Test Inc",
+                "location", "Testville"));
+    }
+
+    private HttpResponse<byte[]> get(String path) throws IOException, InterruptedException {
+        return send("GET", path, null);
+    }
+
+    private HttpResponse<byte[]> send(String method, String path, String json) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(run.baseUri().resolve(path))
+                .timeout(Duration.ofSeconds(30));
+        if (authorization != null) {
+            request.header("Authorization", authorization);
+        }
+        if (json != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(json));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -1,38 +1,69 @@
 package com.example.jobportal.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
-import javax.sql.DataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 public class DataSourceConfig {
     private static final Logger logger = LoggerFactory.getLogger(DataSourceConfig.class);
 
-    @Value("${spring.datasource.url}")
-    private String url;
+    // Pooled DataSource built from spring.datasource.*; spring.datasource.hikari.* (pool sizes,
+    // timeouts, driver data-source-properties) is bound onto it. Pool metrics (hikaricp.connections.*)
+    // are registered by the actuator.
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        logger.info("Configuring DataSource with URL: {}", properties.getUrl());
 
-    @Value("${spring.datasource.username}")
-    private String username;
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
 
-    @Value("${spring.datasource.password}")
-    private String password;
+    // Opens minimum-idle connections before the application reports ready, so the first requests
+    // do not pay for TCP/TLS setup and authentication
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.warm-up", havingValue = "true")
+    public SmartInitializingSingleton dataSourceWarmUp(HikariDataSource dataSource) {
+        return () -> warmUp(dataSource);
+    }
 
-    @Value("${spring.datasource.driver-class-name}")
-    private String driverClassName;
+    private void warmUp(HikariDataSource dataSource) {
+        int target = Math.max(dataSource.getMinimumIdle(), 1);
+        long started = System.nanoTime();
+        List<Connection> connections = new ArrayList<>(target);
+        try {
+            for (int i = 0; i < target; i++) {
+                connections.add(dataSource.getConnection());
+            }
+        } catch (SQLException e) {
+            logger.warn("DataSource warm-up stopped after {} connections: {}", connections.size(), e.getMessage());
+        } finally {
+            for (Connection connection : connections) {
+                close(connection);
+            }
+        }
+        logger.info("DataSource warm-up opened {} connections in {} ms", connections.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
 
-    @Bean
-    public DataSource dataSource() {
-        logger.info("Configuring DataSource with URL: {}", url);
-        
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName(driverClassName);
-        dataSource.setUrl(url);
-        dataSource.setUsername(username);
-        dataSource.setPassword(password);
-        return dataSource;
+    private static void close(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.debug("Returning warm-up connection failed", e);
+        }
     }
 }
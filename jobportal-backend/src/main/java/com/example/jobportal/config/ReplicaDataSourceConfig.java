@@ -0,0 +1,89 @@
+package com.example.jobportal.config;
+
+import com.example.jobportal.datasource.ReadYourWritesFilter;
+import com.example.jobportal.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Read-only transactions (@Transactional(readOnly = true), Spring Data's read methods) run on the
+// replicas under app.datasource.replicas[n] (url, optional username/password defaulting to the
+// primary's), everything else on the primary. Replica pools take spring.datasource.hikari.* like the
+// primary. Connections are fetched lazily, once the transaction's read-only flag is known.
+// Without a replica configured, the primary is used directly as before.
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas[0].url")
+public class ReplicaDataSourceConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaDataSourceConfig.class);
+
+    @Bean
+    @Primary
+    public DataSource routingDataSource(HikariDataSource dataSource, ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(dataSource);
+        routing.setReadOnlyDataSource(replicaDataSource);
+        return routing;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(HikariDataSource dataSource, DataSourceProperties primaryProperties,
+            Environment environment, MeterRegistry meterRegistry,
+            @Value("${app.datasource.replica-health-check-interval:5s}") Duration healthCheckInterval) {
+        Binder binder = Binder.get(environment);
+        List<DataSourceProperties> replicaProperties = binder
+                .bind("app.datasource.replicas", Bindable.listOf(DataSourceProperties.class))
+                .orElse(List.of());
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            DataSourceProperties properties = replicaProperties.get(i);
+            if (properties.getUsername() == null) {
+                properties.setUsername(primaryProperties.determineUsername());
+                properties.setPassword(primaryProperties.determinePassword());
+            }
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName(dataSource.getPoolName() + "-replica-" + (i + 1));
+            replica.setReadOnly(true);
+            // Start even while a replica is down; the health check puts it in rotation once it answers
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            logger.info("Configuring read replica {} with URL: {}", replica.getPoolName(), properties.getUrl());
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(dataSource, replicas, healthCheckInterval, meterRegistry);
+    }
+
+    // Applied to the application task executor (async MVC responses, user saves) and the password
+    // hashing pool, so work a pinned request hands off stays on the primary
+    @Bean
+    public TaskDecorator readYourWritesTaskDecorator() {
+        return ReplicaRoutingDataSource::carryPin;
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${app.datasource.read-your-writes-window:5s}") Duration window,
+            @Value("${app.datasource.read-your-writes-max-clients:100000}") long maxClients) {
+        return new ReadYourWritesFilter(window, maxClients);
+    }
+}
@@ -2,7 +2,9 @@ package com.example.jobportal.config;
 
 import com.example.jobportal.service.UserDetailsServiceImpl;
 import com.example.jobportal.security.JwtFilter;
+import com.example.jobportal.security.RateLimitFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.*;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.*;
@@ -13,12 +15,14 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.*;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.*;
 
 import java.util.Arrays;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -31,7 +35,7 @@ public class SecurityConfig {
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http, UserDetailsServiceImpl userDetailsService,
-            JwtFilter jwtFilter) throws Exception {
+            JwtFilter jwtFilter, RateLimitFilter rateLimitFilter, PasswordEncoder passwordEncoder) throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(csrf -> csrf.disable())
@@ -39,14 +43,17 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/", "/api/auth/**", "/api/public/**", "/api/jobs/**").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
             
                         .requestMatchers("/error").permitAll()
                         .anyRequest().authenticated());
 
         // ✅ Attach auth provider and JWT filter
-        http.authenticationProvider(authenticationProvider(userDetailsService, passwordEncoder())); // Pass
-                                                                                                    // passwordEncoder
+        http.authenticationProvider(authenticationProvider(userDetailsService, passwordEncoder)); // Pass
+                                                                                                  // passwordEncoder
         http.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+        // Limits are per user, so they apply once JwtFilter has authenticated the request
+        http.addFilterAfter(rateLimitFilter, JwtFilter.class);
 
         return http.build();
     }
@@ -56,9 +63,14 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    // Hashes are stored as {bcrypt}... so the algorithm or cost can change later; hashes written before
+    // ids were used are plain BCrypt and are re-encoded on the next successful login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     @Bean
@@ -87,9 +99,9 @@ public class SecurityConfig {
             ));
         }
         
-        config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        config.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type"));
-        config.setExposedHeaders(Arrays.asList("Authorization"));
+        config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+        config.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "If-None-Match", "If-Modified-Since", "If-Match"));
+        config.setExposedHeaders(Arrays.asList("Authorization", "ETag", "Last-Modified", "Retry-After"));
         config.setAllowCredentials(true);
         config.setMaxAge(3600L);
 
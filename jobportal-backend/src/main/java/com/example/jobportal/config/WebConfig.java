@@ -1,7 +1,12 @@
 package com.example.jobportal.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.*;
 
 @Configuration
@@ -18,10 +23,22 @@ public class WebConfig {
                 }
                 registry.addMapping("/**")
                         .allowedOrigins(allowedOrigins.split(","))
-                        .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                        .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                         .allowedHeaders("*")
                         .allowCredentials(true);
             }
         };
     }
+
+    // application/cbor and application/x-jackson-smile next to JSON, picked by the Accept header.
+    // Both copy the application's ObjectMapper so every format serializes the same properties.
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2CborHttpMessageConverter(objectMapper.copyWith(new CBORFactory()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2SmileHttpMessageConverter(objectMapper.copyWith(new SmileFactory()));
+    }
 }
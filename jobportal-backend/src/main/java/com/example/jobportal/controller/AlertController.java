@@ -0,0 +1,85 @@
+package com.example.jobportal.controller;
+
+import com.example.jobportal.model.SavedSearch;
+import com.example.jobportal.model.User;
+import com.example.jobportal.repository.UserRepository;
+import com.example.jobportal.service.JobAlertService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/alerts")
+public class AlertController {
+
+    private static final int MAX_ALERTS = 500;
+
+    @Autowired
+    private JobAlertService jobAlertService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // ✅ Latest jobs matching the current user's saved searches, newest first
+    @GetMapping
+    public ResponseEntity<?> getAlerts(@RequestParam(defaultValue = "50") int limit, Authentication authentication) {
+        Long userId = currentUserId(authentication);
+        if (userId == null) {
+            return unknownUser();
+        }
+        return ResponseEntity.ok(jobAlertService.getAlerts(userId, Math.max(1, Math.min(limit, MAX_ALERTS))));
+    }
+
+    // ✅ Saved searches of the current user
+    @GetMapping("/searches")
+    public ResponseEntity<?> getSavedSearches(Authentication authentication) {
+        Long userId = currentUserId(authentication);
+        if (userId == null) {
+            return unknownUser();
+        }
+        List<SavedSearch> searches = jobAlertService.getSavedSearches(userId);
+        return ResponseEntity.ok(searches);
+    }
+
+    // ✅ Save a search: {"title": ..., "location": ...}, either may be left out.
+    // New and updated jobs whose title and location contain them raise alerts.
+    @PostMapping("/searches")
+    public ResponseEntity<?> saveSearch(@RequestBody Map<String, String> search, Authentication authentication) {
+        Long userId = currentUserId(authentication);
+        if (userId == null) {
+            return unknownUser();
+        }
+        try {
+            SavedSearch saved = jobAlertService.saveSearch(userId, search.get("title"), search.get("location"));
+            return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> errorResponse = Map.of("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
+    // ✅ Delete a saved search
+    @DeleteMapping("/searches/{id}")
+    public ResponseEntity<?> deleteSearch(@PathVariable Long id, Authentication authentication) {
+        Long userId = currentUserId(authentication);
+        if (userId == null) {
+            return unknownUser();
+        }
+        return jobAlertService.deleteSearch(userId, id) ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    private Long currentUserId(Authentication authentication) {
+        return userRepository.findByEmail(authentication.getName()).map(User::getId).orElse(null);
+    }
+
+    private static ResponseEntity<?> unknownUser() {
+        Map<String, String> errorResponse = Map.of("error", "User not found");
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+    }
+}
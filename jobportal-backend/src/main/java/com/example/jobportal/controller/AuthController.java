@@ -4,85 +4,104 @@ import com.example.jobportal.model.User;
 import com.example.jobportal.service.UserDetailsServiceImpl;
 import com.example.jobportal.security.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import com.example.jobportal.payload.LoginRequest;
 import com.example.jobportal.payload.RegistrationRequest; // Import the new DTO
 
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
-    @Autowired
-    private AuthenticationManager authenticationManager;
-
     @Autowired
     private JwtUtil jwtUtil;
 
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
-    @Autowired
-    private PasswordEncoder passwordEncoder;
-
     @PostMapping("/register")
-    public ResponseEntity<?> registerUser(@RequestBody RegistrationRequest registrationRequest) {
-        try {
-            // Create a User object from the DTO and set properties
-            User user = new User();
-            user.setEmail(registrationRequest.getEmail());
-            user.setFirstName(registrationRequest.getFirstName());
-            user.setLastName(registrationRequest.getLastName());
-            user.setPassword(registrationRequest.getPassword()); // Password will be encoded in UserDetailsServiceImpl
-            user.setRole(registrationRequest.getRole());
+    public CompletableFuture<ResponseEntity<?>> registerUser(@RequestBody RegistrationRequest registrationRequest) {
+        // Create a User object from the DTO and set properties
+        User user = new User();
+        user.setEmail(registrationRequest.getEmail());
+        user.setFirstName(registrationRequest.getFirstName());
+        user.setLastName(registrationRequest.getLastName());
+        user.setPassword(registrationRequest.getPassword()); // Password will be encoded in UserDetailsServiceImpl
+        user.setRole(registrationRequest.getRole());
 
-            userDetailsService.registerUser(user);
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "User registered successfully");
-            // Include the registered user's essential details in the response
-            response.put("user", Map.of(
-                    "id", user.getId(),
-                    "email", user.getEmail(),
-                    "firstName", user.getFirstName(),
-                    "lastName", user.getLastName(),
-                    "role", user.getRole()));
-            return ResponseEntity.ok(response);
+        try {
+            return userDetailsService.registerUser(user)
+                    .<ResponseEntity<?>>thenApply(registered -> {
+                        Map<String, Object> response = new HashMap<>();
+                        response.put("message", "User registered successfully");
+                        // Include the registered user's essential details in the response
+                        response.put("user", Map.of(
+                                "id", registered.getId(),
+                                "email", registered.getEmail(),
+                                "firstName", registered.getFirstName(),
+                                "lastName", registered.getLastName(),
+                                "role", registered.getRole()));
+                        return ResponseEntity.ok(response);
+                    })
+                    .exceptionally(e -> badRequest(e instanceof CompletionException && e.getCause() != null
+                            ? e.getCause() : e));
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (RuntimeException e) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(errorResponse);
+            return CompletableFuture.completedFuture(badRequest(e));
         }
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@RequestBody User user) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(user.getEmail(), user.getPassword()));
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@RequestBody LoginRequest loginRequest) {
+        // One users-table lookup: the same row is used for the password check, the token and the response.
+        // The request thread is released while BCrypt runs on the hashing pool.
+        return userDetailsService.authenticate(loginRequest.getEmail(), loginRequest.getPassword())
+                .thenApply(authenticated -> {
+                    if (authenticated.isEmpty()) {
+                        Map<String, String> errorResponse = new HashMap<>();
+                        errorResponse.put("error", "Invalid email or password");
+                        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+                    }
+
+                    User authenticatedUser = authenticated.get();
+                    final String jwt = jwtUtil.generateToken(authenticatedUser.getEmail(),
+                            "ROLE_" + authenticatedUser.getRole());
 
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
-        final String jwt = jwtUtil.generateToken(userDetails);
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("jwt", jwt);
+                    response.put("user", Map.of(
+                            "id", authenticatedUser.getId(),
+                            "email", authenticatedUser.getEmail(),
+                            "firstName", authenticatedUser.getFirstName(),
+                            "lastName", authenticatedUser.getLastName(),
+                            "role", authenticatedUser.getRole()));
 
-        // Fetch the full User object to include in the response
-        User authenticatedUser = userDetailsService.findByEmail(user.getEmail())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found after authentication"));
+                    return ResponseEntity.ok(response);
+                });
+    }
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("jwt", jwt);
-        response.put("user", Map.of(
-                "id", authenticatedUser.getId(),
-                "email", authenticatedUser.getEmail(),
-                "firstName", authenticatedUser.getFirstName(),
-                "lastName", authenticatedUser.getLastName(),
-                "role", authenticatedUser.getRole()));
+    // Password hashing pool saturated: shed load instead of queueing behind it
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, String>> hashingBusy(RejectedExecutionException e) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", "Too many authentication requests, please retry shortly");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
 
-        return ResponseEntity.ok(response);
+    private static ResponseEntity<?> badRequest(Throwable e) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", e.getMessage());
+        return ResponseEntity.badRequest().body(errorResponse);
     }
 }
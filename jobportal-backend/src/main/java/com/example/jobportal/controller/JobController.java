@@ -1,45 +1,258 @@
 package com.example.jobportal.controller;
 import com.example.jobportal.service.JobService;
 
+import com.example.jobportal.geo.GeoPoint;
 import com.example.jobportal.model.Job;
+import com.example.jobportal.model.JobSummary;
+import com.example.jobportal.model.ScoredJob;
+import com.example.jobportal.repository.JobRepositoryCustom;
+import com.example.jobportal.service.JobCursor;
+import com.example.jobportal.service.JobEventBroadcaster;
+import com.example.jobportal.service.JobExportService;
+import com.example.jobportal.service.JobIngestService;
+import com.example.jobportal.service.JobListCache;
+import com.example.jobportal.service.JobVersionRegistry;
+import com.example.jobportal.service.JobVersionRegistry.JobVersion;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 @RestController
 @RequestMapping("/api/jobs")
 public class JobController {
 
+    // Half the Earth's circumference: every point is within it
+    private static final double MAX_RADIUS_KM = 20_016;
+
     @Autowired
     private JobService jobService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JobVersionRegistry jobVersions;
+
+    @Autowired
+    private JobIngestService jobIngestService;
+
+    @Autowired
+    private JobExportService jobExportService;
+
+    @Autowired
+    private JobListCache jobListCache;
+
+    @Autowired
+    private JobEventBroadcaster jobEvents;
+
     // ✅ Create a new Job
     @PostMapping
     public Job createJob(@RequestBody Job job) {
         return jobService.createJob(job);
     }
 
-    // ✅ Get all Jobs
-    @GetMapping
-    public List<Job> getAllJobs() {
-        return jobService.getAllJobs();
+    // ✅ Bulk import Jobs from an NDJSON or CSV body, parsed and inserted while it is uploaded
+    @PostMapping(value = "/bulk", consumes = { "application/x-ndjson", "text/csv" })
+    public ResponseEntity<?> importJobs(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        try {
+            return ResponseEntity.ok(jobIngestService.ingest(body, MediaType.parseMediaType(contentType)));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> errorResponse = Map.of("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
+    // ✅ Get all Jobs as summaries, as JSON, CBOR or Smile (304 when the catalog has not changed since
+    // the client's copy). Bodies come serialized and gzip-compressed from JobListCache. A client that
+    // accepts gzip gets its own ETag: the gzip and identity bodies are different representations.
+    @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            "application/x-jackson-smile" })
+    public ResponseEntity<byte[]> getAllJobs(WebRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        JobListCache.Format format;
+        try {
+            format = JobListCache.Format.negotiate(accept == null ? List.of() : MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            format = null;
+        }
+        if (format == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+        boolean gzip = acceptsGzip(acceptEncoding);
+        // Read the version before the data: a concurrent write can only make the ETag older
+        String catalogETag = jobVersions.catalogETag();
+        String eTag = format.eTag(catalogETag) + (gzip ? "-gzip" : "");
+        long lastModified = jobVersions.catalogLastModified();
+        if (request.checkNotModified(eTag, lastModified)) {
+            return null;
+        }
+        JobListCache.Body body = jobListCache.get(format, catalogETag);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag).lastModified(lastModified)
+                .contentType(format.mediaType()).varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (body.gzip() != null && gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+        }
+        return response.body(body.identity());
+    }
+
+    // ✅ Get a page of Jobs by cursor, streamed row by row
+    @GetMapping("/page")
+    public ResponseEntity<StreamingResponseBody> getJobsPage(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            JobCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> errorResponse = Map.of("error", e.getMessage());
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, errorResponse));
+        }
+        int pageSize = jobService.resolvePageSize(size);
+        ObjectWriter writer = objectMapper.writerFor(JobSummary.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("items");
+                String nextCursor = jobService.streamJobsPage(cursor, pageSize, job -> {
+                    try {
+                        writer.writeValue(generator, job);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+                generator.writeStringField("nextCursor", nextCursor);
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // ✅ Export all Jobs as NDJSON or CSV, optionally gzip-compressed on the fly.
+    // Written on the request thread rather than as a StreamingResponseBody: a full export can
+    // outlast the async request timeout.
+    @GetMapping("/export")
+    public void exportJobs(@RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip, HttpServletResponse response) throws IOException {
+        JobExportService.Format exportFormat;
+        try {
+            exportFormat = JobExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), Map.of("error", "Unsupported format: " + format));
+            return;
+        }
+
+        String extension = exportFormat == JobExportService.Format.CSV ? "csv" : "ndjson";
+        response.setContentType(exportFormat == JobExportService.Format.CSV ? "text/csv;charset=UTF-8"
+                : "application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"jobs." + extension + "\"");
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        // syncFlush: every flush of the export pushes the rows compressed so far to the client
+        try (OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream(), 8192, true)
+                : response.getOutputStream()) {
+            jobExportService.export(exportFormat, out);
+        }
+    }
+
+    // ✅ Live job changes as Server-Sent Events (created, updated, deleted, reload). A reconnecting
+    // client sends Last-Event-ID and gets the events it missed, or reload when too many were.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJobs(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Long resumeFrom = null;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                resumeFrom = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                // Not an id we sent: treated as a gap, like any negative id
+                resumeFrom = -1L;
+            }
+        }
+        return jobEvents.subscribe(resumeFrom);
     }
 
-    // ✅ Get Job by ID
+    // ✅ Get Job by ID (304 answered from the version registry, without a query)
     @GetMapping("/{id}")
-    public ResponseEntity<Job> getJobById(@PathVariable Long id) {
+    public ResponseEntity<Job> getJobById(@PathVariable Long id, WebRequest request) {
+        JobVersion known = jobVersions.get(id);
+        if (known != null && request.checkNotModified(known.eTag(id), known.lastModified())) {
+            return null;
+        }
         Optional<Job> job = jobService.getJobById(id);
-        return job.map(ResponseEntity::ok)
+        return job.map(j -> {
+                    JobVersion version = jobVersions.versionOf(j);
+                    return ResponseEntity.ok().eTag(version.eTag(id)).lastModified(version.lastModified()).body(j);
+                })
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    // ✅ Update Job
+    // ✅ Update Job (with If-Match: 412 when the job changed since the client's version)
     @PutMapping("/{id}")
-    public ResponseEntity<Job> updateJob(@PathVariable Long id, @RequestBody Job updatedJob) {
-        Job job = jobService.updateJob(id, updatedJob);
-        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    public ResponseEntity<?> updateJob(@PathVariable Long id, @RequestBody Job updatedJob,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Job job = jobService.updateJob(id, updatedJob, expectedVersion(id, ifMatch));
+            if (job == null) {
+                return ResponseEntity.notFound().build();
+            }
+            JobVersion version = jobVersions.versionOf(job);
+            return ResponseEntity.ok().eTag(version.eTag(id)).lastModified(version.lastModified()).body(job);
+        } catch (OptimisticLockingFailureException e) {
+            return preconditionFailed(e);
+        }
+    }
+
+    // ✅ Partially update Job: only the fields in the body change (title, description, company,
+    // location; null clears one). Same If-Match handling as PUT, answers 204 with the new ETag.
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchJob(@PathVariable Long id, @RequestBody Map<String, String> fields,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (fields.isEmpty() || !JobRepositoryCustom.UPDATABLE_FIELDS.containsAll(fields.keySet())) {
+            Map<String, String> errorResponse = Map.of("error",
+                    "Body must set one or more of " + String.join(", ", JobRepositoryCustom.UPDATABLE_FIELDS));
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        try {
+            Optional<Job> job = jobService.patchJob(id, fields, expectedVersion(id, ifMatch));
+            return job.map(j -> {
+                        JobVersion version = jobVersions.versionOf(j);
+                        return ResponseEntity.noContent().eTag(version.eTag(id)).lastModified(version.lastModified())
+                                .build();
+                    })
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (OptimisticLockingFailureException e) {
+            return preconditionFailed(e);
+        }
     }
 
     // ✅ Delete Job
@@ -50,9 +263,88 @@ public class JobController {
     }
 
     // Search Jobs (Optional, if you want to keep search functionality)
+    // ✅ With near=lat,lon and radiusKm: jobs within the radius, nearest first, each with its distanceKm
     @GetMapping("/search")
-    public List<Job> searchJobs(@RequestParam String title, @RequestParam String location) {
-        return jobService.searchJobs(title, location);
+    public ResponseEntity<?> searchJobs(@RequestParam(required = false) String title,
+            @RequestParam(required = false) String location, @RequestParam(required = false) String near,
+            @RequestParam(required = false) Double radiusKm, @RequestParam(required = false) Integer size) {
+        if (near == null) {
+            if (title == null || location == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "title and location are required without near"));
+            }
+            return ResponseEntity.ok(jobService.searchJobs(title, location));
+        }
+        String[] point = near.split(",");
+        double latitude;
+        double longitude;
+        try {
+            latitude = point.length == 2 ? Double.parseDouble(point[0].trim()) : Double.NaN;
+            longitude = point.length == 2 ? Double.parseDouble(point[1].trim()) : Double.NaN;
+        } catch (NumberFormatException e) {
+            latitude = Double.NaN;
+            longitude = Double.NaN;
+        }
+        if (!GeoPoint.isValid(latitude, longitude)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "near must be latitude,longitude in degrees"));
+        }
+        if (radiusKm == null || !(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "radiusKm must be above 0 and at most " + MAX_RADIUS_KM));
+        }
+        return ResponseEntity.ok(jobService.searchNear(latitude, longitude, radiusKm, title, location, size));
+    }
+
+    // Ranked, paginated search, each item with its score (q: jobs.search.ranking, postgres or bm25;
+    // title/location: PostgreSQL trigram indexes)
+    @GetMapping("/search/ranked")
+    public Map<String, Object> searchJobsRanked(@RequestParam(required = false) String q,
+            @RequestParam(required = false) String title, @RequestParam(required = false) String location,
+            @RequestParam(defaultValue = "0") int page, @RequestParam(required = false) Integer size) {
+        Page<ScoredJob> result = jobService.searchJobsRanked(q, title, location, page, size);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("items", result.getContent());
+        response.put("page", result.getNumber());
+        response.put("size", result.getSize());
+        response.put("totalElements", result.getTotalElements());
+        return response;
+    }
+
+    // Version named by an If-Match header: null for none or "*", -1 (matching no version) when no
+    // listed ETag is one of this job's
+    private static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = id + "-";
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            // Weak tags never match for If-Match
+            if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                String value = tag.substring(1, tag.length() - 1);
+                if (value.startsWith(prefix) && value.length() > prefix.length()
+                        && value.substring(prefix.length()).chars().allMatch(Character::isDigit)) {
+                    return Long.parseLong(value.substring(prefix.length()));
+                }
+            }
+        }
+        return -1L;
+    }
+
+    private static ResponseEntity<Map<String, String>> preconditionFailed(OptimisticLockingFailureException e) {
+        Map<String, String> errorResponse = Map.of("error", e.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
     }
 
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                // "gzip;q=0" explicitly refuses it
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,231 @@
+package com.example.jobportal.datagen;
+
+import com.example.jobportal.ingest.JobBatchWriter;
+import com.example.jobportal.model.Job;
+import com.github.javafaker.Faker;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Synthetic jobs and users for capacity planning and benchmarks.
+// Rows are produced in chunks of datagen.chunk-size on a pool of worker threads, each with its own
+// Faker, and written with batched inserts (COPY on PostgreSQL), one commit per chunk. Every chunk
+// reseeds its worker's Random from datagen.seed and the chunk number, so the same seed gives the
+// same rows whatever the thread count. Locations and companies are drawn from fixed pools with a
+// Zipf distribution, description lengths from a log-normal one.
+@Component
+public class DataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataGenerator.class);
+
+    private static final long JOB_STREAM = 0x6a6f6273L;
+    private static final long USER_STREAM = 0x75736572L;
+    private static final double EMPLOYER_SHARE = 0.1;
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final long seed;
+    private final int threads;
+    private final int chunkSize;
+    private final int locationCount;
+    private final int companyCount;
+    private final double zipfExponent;
+    private final int descriptionMedianLength;
+    private final int descriptionMaxLength;
+    private final String userPassword;
+
+    public DataGenerator(DataSource dataSource, PasswordEncoder passwordEncoder,
+            @Value("${datagen.seed:42}") long seed,
+            @Value("${datagen.threads:0}") int threads,
+            @Value("${datagen.chunk-size:10000}") int chunkSize,
+            @Value("${datagen.locations:2000}") int locationCount,
+            @Value("${datagen.companies:5000}") int companyCount,
+            @Value("${datagen.zipf-exponent:1.0}") double zipfExponent,
+            @Value("${datagen.description.median-length:1200}") int descriptionMedianLength,
+            @Value("${datagen.description.max-length:8000}") int descriptionMaxLength,
+            @Value("${datagen.user-password:password123}") String userPassword) {
+        this.dataSource = dataSource;
+        this.passwordEncoder = passwordEncoder;
+        this.seed = seed;
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        // Every worker holds a connection for a whole chunk; more workers than connections only queue
+        if (dataSource instanceof HikariDataSource hikari) {
+            workers = Math.min(workers, hikari.getMaximumPoolSize());
+        }
+        this.threads = workers;
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.locationCount = locationCount;
+        this.companyCount = companyCount;
+        this.zipfExponent = zipfExponent;
+        this.descriptionMedianLength = descriptionMedianLength;
+        this.descriptionMaxLength = descriptionMaxLength;
+        this.userPassword = userPassword;
+    }
+
+    // Per-thread generator state; the Random is reseeded at the start of every chunk
+    private static final class Worker {
+        final Random random = new Random();
+        final Faker faker = new Faker(random);
+    }
+
+    public void generate(long jobCount, long userCount) {
+        long started = System.nanoTime();
+        Faker poolFaker = new Faker(new Random(seed));
+        String[] locations = distinct(locationCount, () -> poolFaker.address().city());
+        String[] companies = distinct(companyCount, () -> poolFaker.company().name());
+        ZipfSampler locationSampler = new ZipfSampler(locations.length, zipfExponent);
+        ZipfSampler companySampler = new ZipfSampler(companies.length, zipfExponent);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "datagen-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicLong jobsWritten = new AtomicLong();
+        AtomicLong usersWritten = new AtomicLong();
+        List<Future<?>> chunks = new ArrayList<>();
+        try {
+            for (long first = 0; first < jobCount; first += chunkSize) {
+                long chunk = first / chunkSize;
+                int count = (int) Math.min(chunkSize, jobCount - first);
+                chunks.add(executor.submit(() -> {
+                    Worker worker = workers.get();
+                    worker.random.setSeed(chunkSeed(JOB_STREAM, chunk));
+                    writeJobs(worker, count, locations, locationSampler, companies, companySampler);
+                    progress("jobs", jobsWritten.addAndGet(count), jobCount, count);
+                    return null;
+                }));
+            }
+            for (long first = 0; first < userCount; first += chunkSize) {
+                long chunk = first / chunkSize;
+                long firstIndex = first;
+                int count = (int) Math.min(chunkSize, userCount - first);
+                chunks.add(executor.submit(() -> {
+                    Worker worker = workers.get();
+                    worker.random.setSeed(chunkSeed(USER_STREAM, chunk));
+                    writeUsers(worker, firstIndex, count);
+                    progress("users", usersWritten.addAndGet(count), userCount, count);
+                    return null;
+                }));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Data generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Data generation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsedMs = Math.max((System.nanoTime() - started) / 1_000_000, 1);
+        logger.info("Generated {} jobs and {} users with {} threads in {} ms ({} rows/s)", jobsWritten.get(),
+                usersWritten.get(), threads, elapsedMs, (jobsWritten.get() + usersWritten.get()) * 1000 / elapsedMs);
+    }
+
+    private void writeJobs(Worker worker, int count, String[] locations, ZipfSampler locationSampler,
+            String[] companies, ZipfSampler companySampler) throws SQLException {
+        List<Job> jobs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            jobs.add(new Job(worker.faker.job().title(), description(worker),
+                    companies[companySampler.sample(worker.random)],
+                    locations[locationSampler.sample(worker.random)]));
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            new JobBatchWriter(connection).write(jobs);
+            connection.commit();
+        }
+    }
+
+    // Sentences up to a log-normally distributed length: most descriptions near the median,
+    // a tail of long ones, cut at a word boundary below max-length
+    private String description(Worker worker) {
+        double length = descriptionMedianLength * Math.exp(0.5 * worker.random.nextGaussian());
+        int target = (int) Math.max(40, Math.min(length, descriptionMaxLength));
+        StringBuilder text = new StringBuilder(target + 64);
+        while (text.length() < target) {
+            if (!text.isEmpty()) {
+                text.append(' ');
+            }
+            text.append(worker.faker.lorem().sentence());
+        }
+        if (text.length() > descriptionMaxLength) {
+            int cut = text.lastIndexOf(" ", descriptionMaxLength);
+            text.setLength(cut > 0 ? cut : descriptionMaxLength);
+        }
+        return text.toString();
+    }
+
+    // BCrypt is deliberately slow, so a chunk shares one hash of datagen.user-password
+    // (every generated user can log in with it)
+    private void writeUsers(Worker worker, long firstIndex, int count) throws SQLException {
+        String passwordHash = passwordEncoder.encode(userPassword);
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO users (email, first_name, last_name, password, role) VALUES (?, ?, ?, ?, ?)")) {
+            connection.setAutoCommit(false);
+            for (int i = 0; i < count; i++) {
+                insert.setString(1, userEmail(firstIndex + i));
+                insert.setString(2, worker.faker.name().firstName());
+                insert.setString(3, worker.faker.name().lastName());
+                insert.setString(4, passwordHash);
+                insert.setString(5, worker.random.nextDouble() < EMPLOYER_SHARE ? "EMPLOYER" : "USER");
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+    }
+
+    // Login of the index-th generated user; the password is datagen.user-password
+    public String userEmail(long index) {
+        return "user" + index + "-" + seed + "@example.com";
+    }
+
+    private void progress(String what, long written, long total, int chunk) {
+        // Roughly every tenth of the run
+        long step = Math.max(total / 10, chunk);
+        if (written == total || written / step != (written - chunk) / step) {
+            logger.info("Generated {}/{} {}", written, total, what);
+        }
+    }
+
+    private long chunkSeed(long stream, long chunk) {
+        long h = seed * 0x9E3779B97F4A7C15L + stream;
+        return (h ^ (h >>> 29)) * 0xBF58476D1CE4E5B9L + chunk;
+    }
+
+    // Up to count distinct values; Faker's vocabularies are finite, so stop when they run dry
+    private static String[] distinct(int count, Supplier<String> generator) {
+        Set<String> values = new LinkedHashSet<>();
+        for (int attempts = 0; values.size() < count && attempts < count * 20; attempts++) {
+            values.add(generator.get());
+        }
+        return values.toArray(String[]::new);
+    }
+}
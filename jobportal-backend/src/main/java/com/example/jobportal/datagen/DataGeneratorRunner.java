@@ -0,0 +1,46 @@
+package com.example.jobportal.datagen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+// CLI mode: with the "datagen" profile the application generates the configured dataset and exits
+// instead of serving requests (see application-datagen.properties)
+@Component
+@Profile("datagen")
+public class DataGeneratorRunner implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataGeneratorRunner.class);
+
+    private final DataGenerator dataGenerator;
+    private final ApplicationContext context;
+    private final long jobs;
+    private final long users;
+
+    public DataGeneratorRunner(DataGenerator dataGenerator, ApplicationContext context,
+            @Value("${datagen.jobs:100000}") long jobs,
+            @Value("${datagen.users:1000}") long users) {
+        this.dataGenerator = dataGenerator;
+        this.context = context;
+        this.jobs = jobs;
+        this.users = users;
+    }
+
+    @Override
+    public void run(String... args) {
+        int exitCode = 0;
+        try {
+            dataGenerator.generate(jobs, users);
+        } catch (RuntimeException e) {
+            logger.error("Data generation failed", e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
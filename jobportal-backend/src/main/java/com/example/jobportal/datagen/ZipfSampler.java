@@ -0,0 +1,29 @@
+package com.example.jobportal.datagen;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Draws ranks 0..n-1 with probability proportional to 1 / (rank + 1)^exponent, so a few values
+// (the big cities, the large employers) dominate and the rest form a long tail
+class ZipfSampler {
+
+    private final double[] cumulative;
+
+    ZipfSampler(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    int sample(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.jobportal.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// For a window after a client's last write (POST, PUT, PATCH or DELETE), its requests read from the
+// primary, so it never sees data older than its own writes while replicas catch up. The write is
+// noted before it runs: a read sent as soon as the response arrives must already find it. Failed
+// writes pin the client too, and clients sharing an address (behind a proxy) are pinned together,
+// which costs replica load, not correctness. Clients are recognised by user and by remote address,
+// which also covers register-then-login. Runs after Spring Security so the user is known. Work the
+// request hands to other threads (streamed bodies, async continuations) keeps its pin through the
+// readYourWritesTaskDecorator.
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(Duration window, long maxClients) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxClients)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        List<String> keys = clientKeys(request);
+        boolean pinned = keys.stream().anyMatch(key -> recentWriters.getIfPresent(key) != null);
+        if (WRITE_METHODS.contains(request.getMethod())) {
+            keys.forEach(key -> recentWriters.put(key, Boolean.TRUE));
+        }
+        ReplicaRoutingDataSource.pinToPrimary(pinned);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.pinToPrimary(false);
+        }
+    }
+
+    private static List<String> clientKeys(HttpServletRequest request) {
+        List<String> keys = new ArrayList<>(2);
+        keys.add("address:" + request.getRemoteAddr());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            keys.add("user:" + authentication.getName());
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.jobportal.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Connections for read-only transactions: taken round-robin from the replicas that passed their last
+// health check, or from the primary when none did or when the current request is pinned to it
+// (see ReadYourWritesFilter) or runs in onPrimary. A replica that fails to hand out a connection leaves the rotation
+// until its next successful check. Routed reads are counted as datasource.reads{target, reason}.
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final ThreadLocal<Boolean> pinnedToPrimary = new ThreadLocal<>();
+
+    private static final class Replica {
+        final HikariDataSource dataSource;
+        volatile boolean healthy;
+        volatile boolean checked;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+    private final Counter replicaReads;
+    private final Counter pinnedReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas,
+            Duration healthCheckInterval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        for (Replica replica : this.replicas) {
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("pool", replica.dataSource.getPoolName())
+                    .description("1 while the replica passes its health check").register(meterRegistry);
+        }
+        this.replicaReads = Counter.builder("datasource.reads").tag("target", "replica").tag("reason", "read-only")
+                .register(meterRegistry);
+        this.pinnedReads = Counter.builder("datasource.reads").tag("target", "primary").tag("reason", "pinned")
+                .register(meterRegistry);
+        this.fallbackReads = Counter.builder("datasource.reads").tag("target", "primary").tag("reason", "no-healthy-replica")
+                .register(meterRegistry);
+
+        // Replicas start out of rotation; the first check runs right away
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.healthChecker.scheduleWithFixedDelay(this::checkHealth, 0, healthCheckInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    // Sends the current thread's read-only connections to the primary until unpinned
+    public static void pinToPrimary(boolean pinned) {
+        if (pinned) {
+            pinnedToPrimary.set(Boolean.TRUE);
+        } else {
+            pinnedToPrimary.remove();
+        }
+    }
+
+    // Decorates a task handed to another thread with the current thread's pin, so a streamed response
+    // or a continuation after the request thread is released reads where the request would have
+    public static Runnable carryPin(Runnable task) {
+        boolean pinned = pinnedToPrimary.get() != null;
+        return () -> {
+            Boolean previous = pinnedToPrimary.get();
+            pinToPrimary(pinned);
+            try {
+                task.run();
+            } finally {
+                pinToPrimary(previous != null);
+            }
+        };
+    }
+
+    // Runs work with its reads on the primary, for results that are shared with every client and
+    // must not be older than the latest write
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = pinnedToPrimary.get();
+        pinnedToPrimary.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            pinToPrimary(previous != null);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (pinnedToPrimary.get() != null) {
+            pinnedReads.increment();
+            return primary.getConnection();
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.healthy = false;
+                logger.warn("Replica {} failed to hand out a connection, taking it out of rotation: {}",
+                        replica.dataSource.getPoolName(), e.getMessage());
+            }
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+    }
+
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(5);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (healthy != replica.healthy || !replica.checked) {
+                if (healthy) {
+                    logger.info("Replica {} is healthy, reads go to it", replica.dataSource.getPoolName());
+                } else {
+                    logger.warn("Replica {} failed its health check, reads go elsewhere", replica.dataSource.getPoolName());
+                }
+            }
+            replica.healthy = healthy;
+            replica.checked = true;
+        }
+    }
+
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+        for (Replica replica : replicas) {
+            replica.dataSource.close();
+        }
+    }
+}
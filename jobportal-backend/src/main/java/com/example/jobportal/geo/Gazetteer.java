@@ -0,0 +1,79 @@
+package com.example.jobportal.geo;
+
+import com.example.jobportal.model.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Offline geocoding of Job.location from the city list in jobs.geo.gazetteer (name,country,latitude,
+// longitude per line). A location is looked up whole, then by its first comma-separated part, so
+// "Pune", "pune" and "Pune, Maharashtra" all resolve; anything else stays without coordinates.
+@Component
+public class Gazetteer {
+
+    private static final Logger logger = LoggerFactory.getLogger(Gazetteer.class);
+
+    private final Map<String, GeoPoint> places = new HashMap<>();
+
+    public Gazetteer(@Value("${jobs.geo.gazetteer:classpath:geo/cities.csv}") Resource gazetteer) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(gazetteer.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split(",");
+                if (columns.length != 4) {
+                    throw new IllegalStateException("Gazetteer line " + lineNumber + " needs name,country,latitude,longitude");
+                }
+                places.putIfAbsent(normalize(columns[0]),
+                        new GeoPoint(Double.parseDouble(columns[2].trim()), Double.parseDouble(columns[3].trim())));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Reading the gazetteer " + gazetteer + " failed", e);
+        }
+        logger.info("Gazetteer loaded with {} place names", places.size());
+    }
+
+    // Null when the location is not a known place
+    public GeoPoint locate(String location) {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+        String normalized = normalize(location);
+        GeoPoint point = places.get(normalized);
+        int comma = normalized.indexOf(',');
+        if (point == null && comma > 0) {
+            point = places.get(normalized.substring(0, comma).trim());
+        }
+        return point;
+    }
+
+    // Fills in the job's coordinates from its location unless it already has valid ones
+    public void geocode(Job job) {
+        if (GeoPoint.isValid(job.getLatitude(), job.getLongitude())) {
+            return;
+        }
+        GeoPoint point = locate(job.getLocation());
+        job.setLatitude(point != null ? point.latitude() : null);
+        job.setLongitude(point != null ? point.longitude() : null);
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.jobportal.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Jobs by location for radius searches. Jobs at the same coordinates (to the microdegree) share a
+// point, which matters because geocoded jobs sit on a few thousand city centres; points are bucketed
+// in a fixed grid of CELL_DEGREES cells, i.e. geohash-style cells of one precision. A radius query
+// visits the cells overlapping the circle's bounding box (all occupied cells when that would be
+// more), measures each point once with the haversine formula and reads jobs off the nearest points
+// first, so the cost follows the number of points nearby and the limit, not the number of jobs.
+// Not thread-safe: GeoJobIndex guards it with a read/write lock.
+public class GeoIndex {
+
+    public static final double CELL_DEGREES = 0.25;
+
+    private static final int LON_CELLS = (int) (360 / CELL_DEGREES);
+
+    public record Hit(long id, double distanceKm) {
+    }
+
+    private static final class Point {
+        final double latitude;
+        final double longitude;
+        final long key;
+        final long cell;
+        // Ascending job ids
+        long[] ids = new long[2];
+        int size;
+
+        Point(double latitude, double longitude, long key, long cell) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.key = key;
+            this.cell = cell;
+        }
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            // Ids mostly arrive in ascending order
+            int at = size == 0 || ids[size - 1] < id ? size : insertionPoint(id);
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+                size--;
+            }
+        }
+
+        private int insertionPoint(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            return at >= 0 ? at : -at - 1;
+        }
+    }
+
+    private record Candidate(Point point, double distanceKm) {
+    }
+
+    private final Map<Long, Point> points = new HashMap<>();
+    private final Map<Long, List<Point>> cells = new HashMap<>();
+    private final Map<Long, Point> pointByJob = new HashMap<>();
+
+    public int size() {
+        return pointByJob.size();
+    }
+
+    public int pointCount() {
+        return points.size();
+    }
+
+    // Replaces the job's location; invalid coordinates just remove it
+    public void put(long id, Double latitude, Double longitude) {
+        remove(id);
+        if (!GeoPoint.isValid(latitude, longitude)) {
+            return;
+        }
+        long key = Math.round(latitude * 1e6) * 1_000_000_000L + Math.round(longitude * 1e6);
+        Point point = points.get(key);
+        if (point == null) {
+            point = new Point(latitude, longitude, key, cell(latIndex(latitude), lonIndex(longitude)));
+            points.put(key, point);
+            cells.computeIfAbsent(point.cell, k -> new ArrayList<>()).add(point);
+        }
+        point.add(id);
+        pointByJob.put(id, point);
+    }
+
+    public boolean remove(long id) {
+        Point point = pointByJob.remove(id);
+        if (point == null) {
+            return false;
+        }
+        point.remove(id);
+        if (point.size == 0) {
+            points.remove(point.key);
+            List<Point> cell = cells.get(point.cell);
+            cell.remove(point);
+            if (cell.isEmpty()) {
+                cells.remove(point.cell);
+            }
+        }
+        return true;
+    }
+
+    // Up to limit jobs within radiusKm, nearest first (ties by id). limit <= 0 returns them all.
+    public List<Hit> near(double latitude, double longitude, double radiusKm, int limit) {
+        List<Candidate> candidates = new ArrayList<>();
+        for (List<Point> cell : cellsAround(latitude, longitude, radiusKm)) {
+            for (Point point : cell) {
+                double distance = GeoPoint.distanceKm(latitude, longitude, point.latitude, point.longitude);
+                if (distance <= radiusKm) {
+                    candidates.add(new Candidate(point, distance));
+                }
+            }
+        }
+        candidates.sort(Comparator.comparingDouble(Candidate::distanceKm));
+
+        int max = limit > 0 ? limit : Integer.MAX_VALUE;
+        List<Hit> hits = new ArrayList<>(Math.min(max, 1024));
+        for (int c = 0; c < candidates.size() && hits.size() < max; c++) {
+            // Points at exactly the same distance are read in id order together
+            int end = c + 1;
+            while (end < candidates.size() && candidates.get(end).distanceKm() == candidates.get(c).distanceKm()) {
+                end++;
+            }
+            if (end == c + 1) {
+                Point point = candidates.get(c).point();
+                for (int i = 0; i < point.size && hits.size() < max; i++) {
+                    hits.add(new Hit(point.ids[i], candidates.get(c).distanceKm()));
+                }
+            } else {
+                List<Hit> tied = new ArrayList<>();
+                for (int t = c; t < end; t++) {
+                    Point point = candidates.get(t).point();
+                    for (int i = 0; i < point.size; i++) {
+                        tied.add(new Hit(point.ids[i], candidates.get(t).distanceKm()));
+                    }
+                }
+                tied.sort(Comparator.comparingLong(Hit::id));
+                hits.addAll(tied.subList(0, Math.min(tied.size(), max - hits.size())));
+                c = end - 1;
+            }
+        }
+        return hits;
+    }
+
+    private Collection<List<Point>> cellsAround(double latitude, double longitude, double radiusKm) {
+        // Bounding box of the circle: exact in latitude, and in longitude the widest extent of the
+        // circle, reached where it touches the meridians; a circle around a pole spans all longitudes
+        double angle = radiusKm / GeoPoint.EARTH_RADIUS_KM;
+        double dLat = Math.toDegrees(angle);
+        double minLat = latitude - dLat;
+        double maxLat = latitude + dLat;
+        double sinRatio = Math.sin(angle) / Math.cos(Math.toRadians(latitude));
+        boolean allLongitudes = minLat <= -90 || maxLat >= 90 || angle >= Math.PI / 2 || sinRatio >= 1;
+        double dLon = allLongitudes ? 180 : Math.toDegrees(Math.asin(sinRatio));
+        int firstLat = latIndex(Math.max(minLat, -90));
+        int lastLat = latIndex(Math.min(maxLat, 90));
+        int firstLon = (int) Math.floor((longitude - dLon + 180) / CELL_DEGREES);
+        int lastLon = (int) Math.floor((longitude + dLon + 180) / CELL_DEGREES);
+        if (allLongitudes || lastLon - firstLon + 1 >= LON_CELLS) {
+            firstLon = 0;
+            lastLon = LON_CELLS - 1;
+        }
+        long cellCount = (long) (lastLat - firstLat + 1) * (lastLon - firstLon + 1);
+        if (cellCount >= cells.size()) {
+            return cells.values();
+        }
+        List<List<Point>> found = new ArrayList<>();
+        for (int lat = firstLat; lat <= lastLat; lat++) {
+            for (int lon = firstLon; lon <= lastLon; lon++) {
+                // Wraps across the antimeridian
+                List<Point> cell = cells.get(cell(lat, Math.floorMod(lon, LON_CELLS)));
+                if (cell != null) {
+                    found.add(cell);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static int latIndex(double latitude) {
+        return (int) Math.floor((latitude + 90) / CELL_DEGREES);
+    }
+
+    private static int lonIndex(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), LON_CELLS);
+    }
+
+    private static long cell(int latIndex, int lonIndex) {
+        return (long) latIndex * LON_CELLS + lonIndex;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.jobportal.geo;
+
+import com.example.jobportal.model.Job;
+import com.example.jobportal.repository.JobRepository;
+import com.example.jobportal.search.PendingIndexWrites;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Radius searches over job coordinates from an in-memory GeoIndex, kept up to date by JobService.
+// The index is built in the background once the application is ready; until then searches read the
+// band of latitudes from the database and measure every job in it. Writes made while the build
+// streams rows are queued and replayed after it (see PendingIndexWrites).
+@Component
+public class GeoJobIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeoJobIndex.class);
+
+    private final JobRepository jobRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final GeoIndex index = new GeoIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final PendingIndexWrites pendingWrites = new PendingIndexWrites();
+    private volatile boolean ready;
+
+    public GeoJobIndex(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+        this.jobRepository = jobRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        Thread builder = new Thread(this::rebuild, "geo-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    void rebuild() {
+        long started = System.nanoTime();
+        withWriteLock(pendingWrites::startBuild);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<JobCoordinates> rows = jobRepository.streamCoordinates()) {
+                    rows.forEach(row -> withWriteLock(
+                            () -> index.put(row.getId(), row.getLatitude(), row.getLongitude())));
+                }
+            });
+            withWriteLock(() -> {
+                pendingWrites.finishBuild();
+                ready = true;
+            });
+            int points;
+            int jobs;
+            lock.readLock().lock();
+            try {
+                points = index.pointCount();
+                jobs = index.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+            logger.info("Geo index built with {} jobs at {} points in {} ms", jobs, points,
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            withWriteLock(pendingWrites::finishBuild);
+            logger.error("Building the geo index failed, radius searches keep using the database", e);
+        }
+    }
+
+    // Up to limit jobs within radiusKm of the point, nearest first; limit <= 0 for all of them
+    public List<GeoIndex.Hit> near(double latitude, double longitude, double radiusKm, int limit) {
+        if (!ready) {
+            return nearFromDatabase(latitude, longitude, radiusKm, limit);
+        }
+        lock.readLock().lock();
+        try {
+            return index.near(latitude, longitude, radiusKm, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void onJobSaved(Job job) {
+        Long id = job.getId();
+        Double latitude = job.getLatitude();
+        Double longitude = job.getLongitude();
+        withWriteLock(() -> pendingWrites.apply(() -> index.put(id, latitude, longitude)));
+    }
+
+    public void onJobDeleted(Long id) {
+        withWriteLock(() -> pendingWrites.apply(() -> index.remove(id)));
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<GeoIndex.Hit> nearFromDatabase(double latitude, double longitude, double radiusKm, int limit) {
+        double dLat = Math.toDegrees(radiusKm / GeoPoint.EARTH_RADIUS_KM);
+        List<GeoIndex.Hit> hits = new ArrayList<>();
+        for (JobCoordinates job : jobRepository.findCoordinatesByLatitudeBetween(latitude - dLat, latitude + dLat)) {
+            double distance = GeoPoint.distanceKm(latitude, longitude, job.getLatitude(), job.getLongitude());
+            if (distance <= radiusKm) {
+                hits.add(new GeoIndex.Hit(job.getId(), distance));
+            }
+        }
+        hits.sort(Comparator.comparingDouble(GeoIndex.Hit::distanceKm).thenComparingLong(GeoIndex.Hit::id));
+        return limit > 0 && hits.size() > limit ? hits.subList(0, limit) : hits;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.jobportal.geo;
+
+// WGS84 coordinates in degrees
+public record GeoPoint(double latitude, double longitude) {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    // Great-circle distance (haversine)
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    public static boolean isValid(Double latitude, Double longitude) {
+        return latitude != null && longitude != null && latitude >= -90 && latitude <= 90
+                && longitude >= -180 && longitude <= 180;
+    }
+}
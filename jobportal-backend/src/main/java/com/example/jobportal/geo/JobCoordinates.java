@@ -0,0 +1,11 @@
+package com.example.jobportal.geo;
+
+// Projection of the columns the geo index is built from
+public interface JobCoordinates {
+
+    Long getId();
+
+    Double getLatitude();
+
+    Double getLongitude();
+}
@@ -0,0 +1,130 @@
+package com.example.jobportal.ingest;
+
+import com.example.jobportal.model.Job;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// RFC 4180 CSV with a header row naming the columns (title, description, company, location, in any
+// order; other columns are ignored). Quoted fields may contain commas, doubled quotes and newlines.
+class CsvJobRecordReader implements JobRecordReader {
+
+    private static final String[] COLUMNS = { "title", "description", "company", "location" };
+
+    private final BufferedReader reader;
+    private final StringBuilder field = new StringBuilder();
+    private int[] columnIndex;
+    private int requiredWidth;
+    private long recordNumber;
+    private boolean endOfInput;
+
+    CsvJobRecordReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public Job next() throws IOException {
+        if (columnIndex == null) {
+            readHeader();
+        }
+        List<String> row;
+        do {
+            row = readRow();
+            if (row == null) {
+                return null;
+            }
+        } while (row.size() == 1 && row.get(0).isEmpty());
+
+        recordNumber++;
+        if (row.size() < requiredWidth) {
+            throw new InvalidRecordException(recordNumber,
+                    "Expected " + requiredWidth + " columns but found " + row.size());
+        }
+        return new Job(column(row, 0), column(row, 1), column(row, 2), column(row, 3));
+    }
+
+    @Override
+    public long recordNumber() {
+        return recordNumber;
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header = readRow();
+        columnIndex = new int[COLUMNS.length];
+        requiredWidth = 0;
+        for (int c = 0; c < COLUMNS.length; c++) {
+            columnIndex[c] = -1;
+            for (int i = 0; header != null && i < header.size(); i++) {
+                if (header.get(i).trim().toLowerCase(Locale.ROOT).equals(COLUMNS[c])) {
+                    columnIndex[c] = i;
+                    requiredWidth = Math.max(requiredWidth, i + 1);
+                }
+            }
+        }
+        if (header != null && requiredWidth == 0) {
+            throw new IllegalArgumentException("CSV header must name at least one of title, description, company, location");
+        }
+    }
+
+    private String column(List<String> row, int column) {
+        int index = columnIndex[column];
+        if (index < 0) {
+            return null;
+        }
+        String value = row.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    // Fields of the next row, or null at the end of the input
+    private List<String> readRow() throws IOException {
+        if (endOfInput) {
+            return null;
+        }
+        List<String> row = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean sawAny = false;
+        while (true) {
+            int c = reader.read();
+            if (c < 0) {
+                endOfInput = true;
+                if (quoted) {
+                    recordNumber++;
+                    throw new InvalidRecordException(recordNumber, "Unterminated quoted field");
+                }
+                if (!sawAny) {
+                    return null;
+                }
+                row.add(field.toString());
+                return row;
+            }
+            sawAny = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                row.add(field.toString());
+                return row;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.jobportal.ingest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of a bulk load, returned as the response body. Only the first maxErrors rejected
+// records are listed; failed counts all of them.
+public class IngestResult {
+
+    public record RecordError(long record, String error) {}
+
+    private final int maxErrors;
+    private final List<RecordError> errors = new ArrayList<>();
+    private long inserted;
+    private long failed;
+    private long elapsedMs;
+
+    public IngestResult(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    public void inserted(int count) {
+        inserted += count;
+    }
+
+    public void reject(long record, String error) {
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RecordError(record, error));
+        }
+    }
+
+    public void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+
+    public long getInserted() { return inserted; }
+    public long getFailed() { return failed; }
+    public long getElapsedMs() { return elapsedMs; }
+    public List<RecordError> getErrors() { return errors; }
+}
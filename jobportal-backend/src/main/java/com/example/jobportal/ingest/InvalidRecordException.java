@@ -0,0 +1,17 @@
+package com.example.jobportal.ingest;
+
+// A single input record that could not be turned into a Job. The reader stays usable: the next
+// call to JobRecordReader.next() continues with the following record.
+public class InvalidRecordException extends RuntimeException {
+
+    private final long recordNumber;
+
+    public InvalidRecordException(long recordNumber, String message) {
+        super(message);
+        this.recordNumber = recordNumber;
+    }
+
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+}
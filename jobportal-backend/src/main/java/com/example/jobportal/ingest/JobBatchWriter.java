@@ -0,0 +1,118 @@
+package com.example.jobportal.ingest;
+
+import com.example.jobportal.model.Job;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+// Inserts batches of new jobs on one connection, bypassing JPA: Job ids come from an IDENTITY
+// column, which keeps Hibernate from batching. On PostgreSQL a batch is sent as a single
+// COPY ... FROM STDIN, elsewhere as a JDBC batch of prepared INSERTs. The caller owns the
+// connection and its transaction.
+public class JobBatchWriter {
+
+    private static final String COPY_SQL =
+            "COPY jobs (title, description, company, location, latitude, longitude, version, updated_at) "
+            + "FROM STDIN WITH (FORMAT csv)";
+    private static final String INSERT_SQL =
+            "INSERT INTO jobs (title, description, company, location, latitude, longitude, version, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, 0, ?)";
+
+    private final Connection connection;
+    private final CopyManager copyManager;
+    private final StringBuilder copyBuffer = new StringBuilder();
+    private PreparedStatement insert;
+
+    public JobBatchWriter(Connection connection) throws SQLException {
+        this.connection = connection;
+        this.copyManager = connection.isWrapperFor(PGConnection.class)
+                ? connection.unwrap(PGConnection.class).getCopyAPI()
+                : null;
+    }
+
+    public boolean usesCopy() {
+        return copyManager != null;
+    }
+
+    public void write(List<Job> jobs) throws SQLException {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        if (copyManager != null) {
+            copy(jobs, now);
+        } else {
+            insert(jobs, now);
+        }
+    }
+
+    private void copy(List<Job> jobs, Instant now) throws SQLException {
+        copyBuffer.setLength(0);
+        String updatedAt = now.toString();
+        for (Job job : jobs) {
+            appendCsv(job.getTitle()).append(',');
+            appendCsv(job.getDescription()).append(',');
+            appendCsv(job.getCompany()).append(',');
+            appendCsv(job.getLocation()).append(',');
+            appendNumber(job.getLatitude()).append(',');
+            appendNumber(job.getLongitude()).append(",0,").append(updatedAt).append('\n');
+        }
+        try {
+            copyManager.copyIn(COPY_SQL, new StringReader(copyBuffer.toString()));
+        } catch (IOException e) {
+            throw new SQLException("COPY into jobs failed", e);
+        }
+    }
+
+    // In CSV format an unquoted empty field is NULL, a quoted one an empty string
+    private StringBuilder appendCsv(String value) {
+        if (value == null) {
+            return copyBuffer;
+        }
+        copyBuffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                copyBuffer.append('"');
+            }
+            copyBuffer.append(c);
+        }
+        return copyBuffer.append('"');
+    }
+
+    private StringBuilder appendNumber(Double value) {
+        return value == null ? copyBuffer : copyBuffer.append(value.doubleValue());
+    }
+
+    private void insert(List<Job> jobs, Instant now) throws SQLException {
+        if (insert == null) {
+            insert = connection.prepareStatement(INSERT_SQL);
+        }
+        OffsetDateTime updatedAt = now.atOffset(ZoneOffset.UTC);
+        for (Job job : jobs) {
+            insert.setString(1, job.getTitle());
+            insert.setString(2, job.getDescription());
+            insert.setString(3, job.getCompany());
+            insert.setString(4, job.getLocation());
+            insert.setObject(5, job.getLatitude(), Types.DOUBLE);
+            insert.setObject(6, job.getLongitude(), Types.DOUBLE);
+            insert.setObject(7, updatedAt);
+            insert.addBatch();
+        }
+        try {
+            insert.executeBatch();
+        } finally {
+            insert.clearBatch();
+        }
+    }
+}
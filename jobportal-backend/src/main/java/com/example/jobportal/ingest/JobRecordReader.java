@@ -0,0 +1,35 @@
+package com.example.jobportal.ingest;
+
+import com.example.jobportal.model.Job;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+// Reads jobs one record at a time from a request body, without buffering the whole input
+public interface JobRecordReader {
+
+    MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    // Next job, or null at the end of the input. Throws InvalidRecordException for a record that
+    // cannot be parsed; reading can continue after it.
+    Job next() throws IOException;
+
+    // 1-based number of the record last returned or rejected
+    long recordNumber();
+
+    static JobRecordReader forContentType(MediaType contentType, InputStream body, ObjectMapper objectMapper) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+        if (contentType != null && contentType.isCompatibleWith(MediaType.parseMediaType("text/csv"))) {
+            return new CsvJobRecordReader(reader);
+        }
+        if (contentType == null || contentType.isCompatibleWith(NDJSON)) {
+            return new NdjsonJobRecordReader(reader, objectMapper);
+        }
+        throw new IllegalArgumentException("Unsupported content type: " + contentType);
+    }
+}
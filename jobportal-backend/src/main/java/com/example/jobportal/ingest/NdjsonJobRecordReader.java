@@ -0,0 +1,49 @@
+package com.example.jobportal.ingest;
+
+import com.example.jobportal.model.Job;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+// One JSON object per line; blank lines are skipped
+class NdjsonJobRecordReader implements JobRecordReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader jobReader;
+    private long recordNumber;
+
+    NdjsonJobRecordReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.jobReader = objectMapper.readerFor(Job.class);
+    }
+
+    @Override
+    public Job next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        recordNumber++;
+        try {
+            Job job = jobReader.readValue(line);
+            if (job == null) {
+                throw new InvalidRecordException(recordNumber, "Expected a JSON object");
+            }
+            return job;
+        } catch (JsonProcessingException e) {
+            throw new InvalidRecordException(recordNumber, e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public long recordNumber() {
+        return recordNumber;
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.jobportal.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.Length;
+
+import java.time.Instant;
 
 @Entity
 @Table(name = "jobs")
@@ -11,10 +15,30 @@ public class Job {
     private Long id;
 
     private String title;
+
+    // Lists read JobSummary projections, so only GET /api/jobs/{id} needs the full text; every other
+    // load leaves it unfetched (lazy basic attribute, needs the bytecode enhancement set up in pom.xml)
+    @Basic(fetch = FetchType.LAZY)
+    @Column(length = Length.LONG32)
     private String description;
+
     private String company;
     private String location;
 
+    // WGS84 degrees; geocoded from location (see Gazetteer) unless the client sends them
+    private Double latitude;
+    private Double longitude;
+
+    // Bumped by Hibernate on every update; drives the job's ETag. Existing rows start at 0.
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    @Column(name = "updated_at")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant updatedAt;
+
     // Constructors
     public Job() {}
 
@@ -48,4 +72,22 @@ public class Job {
 
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
+
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.updatedAt = Instant.now();
+    }
 }
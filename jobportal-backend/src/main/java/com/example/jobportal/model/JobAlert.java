@@ -0,0 +1,46 @@
+package com.example.jobportal.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// A job that matched one of a user's saved searches. A user is alerted about a job once, however
+// many of their searches it matches and however often it is updated. Rows are inserted in batches
+// by JobAlertService, outside JPA.
+@Entity
+@Table(name = "job_alerts",
+        uniqueConstraints = @UniqueConstraint(name = "job_alerts_user_job_key", columnNames = { "user_id", "job_id" }))
+public class JobAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "saved_search_id")
+    private Long savedSearchId;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    // Getters & Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getJobId() { return jobId; }
+    public void setJobId(Long jobId) { this.jobId = jobId; }
+
+    public Long getSavedSearchId() { return savedSearchId; }
+    public void setSavedSearchId(Long savedSearchId) { this.savedSearchId = savedSearchId; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,16 @@
+package com.example.jobportal.model;
+
+// What job lists and searches return: the fields a list row shows plus the start of the description.
+// The full description is only served by GET /api/jobs/{id}.
+public record JobSummary(Long id, String title, String company, String location, String snippet) {
+
+    public static final int SNIPPET_LENGTH = 140;
+
+    // Snippet is null when the job carries no description
+    public static JobSummary of(Job job) {
+        String description = job.getDescription();
+        String snippet = description == null || description.length() <= SNIPPET_LENGTH ? description
+                : description.substring(0, SNIPPET_LENGTH);
+        return new JobSummary(job.getId(), job.getTitle(), job.getCompany(), job.getLocation(), snippet);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.jobportal.model;
+
+// A radius search result: the job's list fields and how far it is from the searched point
+public record NearbyJob(Long id, String title, String company, String location, String snippet, double distanceKm) {
+
+    public static NearbyJob of(JobSummary job, double distanceKm) {
+        return new NearbyJob(job.id(), job.title(), job.company(), job.location(), job.snippet(), distanceKm);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.jobportal.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// A title/location search a user wants alerts for (see JobAlertService)
+@Entity
+@Table(name = "saved_searches", indexes = @Index(name = "saved_searches_user_id_idx", columnList = "user_id"))
+public class SavedSearch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @JsonIgnore
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    private String title;
+    private String location;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    // Constructors
+    public SavedSearch() {}
+
+    public SavedSearch(Long userId, String title, String location) {
+        this.userId = userId;
+        this.title = title;
+        this.location = location;
+    }
+
+    // Getters & Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    @PrePersist
+    void touch() {
+        this.createdAt = Instant.now();
+    }
+}
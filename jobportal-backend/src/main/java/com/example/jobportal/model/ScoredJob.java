@@ -0,0 +1,9 @@
+package com.example.jobportal.model;
+
+// A ranked search result: the job's list fields and its relevance score (higher is better)
+public record ScoredJob(Long id, String title, String company, String location, String snippet, double score) {
+
+    public static ScoredJob of(JobSummary job, double score) {
+        return new ScoredJob(job.id(), job.title(), job.company(), job.location(), job.snippet(), score);
+    }
+}
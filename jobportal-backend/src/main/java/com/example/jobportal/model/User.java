@@ -1,9 +1,11 @@
 package com.example.jobportal.model;
 
+import com.example.jobportal.security.UserCacheListener;
 import jakarta.persistence.*;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheListener.class)
 public class User {
 
     @Id
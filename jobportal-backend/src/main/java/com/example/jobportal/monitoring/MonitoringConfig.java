@@ -0,0 +1,16 @@
+package com.example.jobportal.monitoring;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MonitoringConfig {
+
+    // Lets StatementCounter see every statement Hibernate prepares
+    @Bean
+    public HibernatePropertiesCustomizer statementCounting(StatementCounter statementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+    }
+}
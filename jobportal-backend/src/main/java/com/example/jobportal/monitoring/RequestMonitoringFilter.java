@@ -0,0 +1,100 @@
+package com.example.jobportal.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// Per request: records how many SQL statements Hibernate ran (request.sql.statements,
+// tagged like http.server.requests) and logs requests slower than monitoring.slow-request-threshold.
+// Async requests are measured until they complete; statements are counted on the request thread.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class RequestMonitoringFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestMonitoringFilter.class);
+
+    private final StatementCounter statementCounter;
+    private final MeterRegistry meterRegistry;
+    private final long slowRequestNanos;
+
+    public RequestMonitoringFilter(StatementCounter statementCounter, MeterRegistry meterRegistry,
+            @Value("${monitoring.slow-request-threshold:500ms}") Duration slowRequestThreshold) {
+        this.statementCounter = statementCounter;
+        this.meterRegistry = meterRegistry;
+        this.slowRequestNanos = slowRequestThreshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long started = System.nanoTime();
+        statementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = statementCounter.stop();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        finish(request, response, started, statements);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                        event.getAsyncContext().addListener(this);
+                    }
+                });
+            } else {
+                finish(request, response, started, statements);
+            }
+        }
+    }
+
+    private void finish(HttpServletRequest request, HttpServletResponse response, long started, int statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("request.sql.statements")
+                .description("SQL statements run by Hibernate per request")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .register(meterRegistry)
+                .record(statements);
+
+        // Event streams stay open by design
+        long elapsed = System.nanoTime() - started;
+        if (elapsed >= slowRequestNanos && !isEventStream(response)) {
+            logger.warn("Slow request: {} {} took {} ms (status {}, {} SQL statements)", request.getMethod(),
+                    request.getRequestURI(), elapsed / 1_000_000, response.getStatus(), statements);
+        }
+    }
+
+    private static boolean isEventStream(HttpServletResponse response) {
+        String contentType = response.getContentType();
+        return contentType != null && contentType.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+}
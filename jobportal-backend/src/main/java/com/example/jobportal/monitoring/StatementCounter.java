@@ -0,0 +1,32 @@
+package com.example.jobportal.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+// Counts the SQL statements Hibernate prepares on the current thread while a count is open.
+// Registered with Hibernate in MonitoringConfig; queries issued through plain JDBC are not seen.
+@Component
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    public void start() {
+        COUNT.set(new int[1]);
+    }
+
+    // Statements since start(); closes the count
+    public int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+}
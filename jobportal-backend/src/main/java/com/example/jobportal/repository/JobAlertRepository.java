@@ -0,0 +1,14 @@
+package com.example.jobportal.repository;
+
+import com.example.jobportal.model.JobAlert;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface JobAlertRepository extends JpaRepository<JobAlert, Long> {
+
+  List<JobAlert> findByUserIdOrderByIdDesc(Long userId, Limit limit);
+}
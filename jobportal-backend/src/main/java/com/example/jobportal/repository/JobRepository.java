@@ -1,18 +1,122 @@
 package com.example.jobportal.repository;
 
+import com.example.jobportal.geo.JobCoordinates;
 import com.example.jobportal.model.Job;
+import com.example.jobportal.model.JobSummary;
+import com.example.jobportal.search.JobRankingFields;
+import com.example.jobportal.search.JobSearchFields;
+import com.example.jobportal.search.ScoredJobRow;
+import com.example.jobportal.service.JobVersionInfo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface JobRepository extends JpaRepository<Job, Long> {
+public interface JobRepository extends JpaRepository<Job, Long>, JobRepositoryCustom {
 
-  @Query("SELECT j FROM Job j WHERE " +
+  // List rows are built straight from the selected columns, without managed entities.
+  // The cast lets substring accept the description on databases that map it to a CLOB (H2).
+  String SUMMARY = "new com.example.jobportal.model.JobSummary(j.id, j.title, j.company, j.location, " +
+      "substring(cast(j.description as String), 1, " + JobSummary.SNIPPET_LENGTH + "))";
+
+  // The same columns for the native queries (JobSummaryRow)
+  String SUMMARY_COLUMNS = "j.id AS id, j.title AS title, j.company AS company, j.location AS location, " +
+      "substring(j.description, 1, " + JobSummary.SNIPPET_LENGTH + ") AS snippet";
+
+  @Query("SELECT " + SUMMARY + " FROM Job j WHERE " +
       "(:title IS NULL OR :title = '' OR LOWER(j.title) LIKE LOWER(CONCAT('%', :title, '%'))) AND " +
       "(:location IS NULL OR :location = '' OR LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%')))")
-  List<Job> searchJobsByTitleAndLocation(String title, String location);
+  List<JobSummary> searchJobsByTitleAndLocation(String title, String location);
+
+  @Query("SELECT " + SUMMARY + " FROM Job j ORDER BY j.id")
+  List<JobSummary> findAllSummaries();
+
+  @Query("SELECT " + SUMMARY + " FROM Job j WHERE j.id IN :ids")
+  List<JobSummary> findSummariesByIdIn(Collection<Long> ids);
+
+  // The whole row including the lazy description, in one statement
+  @EntityGraph(attributePaths = "description")
+  @Query("SELECT j FROM Job j WHERE j.id = :id")
+  Optional<Job> findWithDescriptionById(Long id);
+
+  @Query("SELECT coalesce(max(j.id), 0) FROM Job j")
+  long findMaxId();
+
+  // Keyset page: seeks on the primary key instead of OFFSET, rows are fetched from JDBC in chunks
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("SELECT j FROM Job j WHERE j.id > :afterId ORDER BY j.id")
+  Stream<Job> streamByIdAfter(Long afterId, Limit limit);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"))
+  @Query("SELECT " + SUMMARY + " FROM Job j WHERE j.id > :afterId ORDER BY j.id")
+  Stream<JobSummary> streamSummariesByIdAfter(Long afterId, Limit limit);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT j.id AS id, j.title AS title, j.location AS location, j.company AS company FROM Job j")
+  Stream<JobSearchFields> streamSearchFields();
+
+  String RANKING_FIELDS = "j.id AS id, j.title AS title, j.company AS company, " +
+      "cast(j.description as String) AS description";
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT " + RANKING_FIELDS + " FROM Job j")
+  Stream<JobRankingFields> streamRankingFields();
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT " + RANKING_FIELDS + " FROM Job j WHERE j.id > :afterId")
+  Stream<JobRankingFields> streamRankingFieldsByIdAfter(long afterId);
+
+  @Query("SELECT " + RANKING_FIELDS + " FROM Job j WHERE j.id = :id")
+  Optional<JobRankingFields> findRankingFieldsById(Long id);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT j.id AS id, j.latitude AS latitude, j.longitude AS longitude FROM Job j " +
+      "WHERE j.latitude IS NOT NULL AND j.longitude IS NOT NULL")
+  Stream<JobCoordinates> streamCoordinates();
+
+  // Band of latitudes for radius searches while the geo index is being built
+  @Query("SELECT j.id AS id, j.latitude AS latitude, j.longitude AS longitude FROM Job j " +
+      "WHERE j.latitude BETWEEN :minLatitude AND :maxLatitude AND j.longitude IS NOT NULL")
+  List<JobCoordinates> findCoordinatesByLatitudeBetween(double minLatitude, double maxLatitude);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT j.id AS id, j.version AS version, j.updatedAt AS updatedAt FROM Job j")
+  Stream<JobVersionInfo> streamVersions();
+
+  // Indexed search mode (PostgreSQL only, see db/migration/postgresql)
+
+  @Query(value = "SELECT " + SUMMARY_COLUMNS + ", cast(ts_rank_cd(j.search_vector, q) AS double precision) AS score " +
+      "FROM jobs j, websearch_to_tsquery('english', :query) q " +
+      "WHERE j.search_vector @@ q ORDER BY ts_rank_cd(j.search_vector, q) DESC, j.id",
+      countQuery = "SELECT count(*) FROM jobs j WHERE j.search_vector @@ websearch_to_tsquery('english', :query)",
+      nativeQuery = true)
+  Page<ScoredJobRow> searchJobsFullText(String query, Pageable pageable);
+
+  @Query(value = "SELECT " + SUMMARY_COLUMNS + ", cast(similarity(lower(coalesce(j.title, '')), lower(:title)) + " +
+      "similarity(lower(coalesce(j.location, '')), lower(:location)) AS double precision) AS score FROM jobs j WHERE " +
+      "(:title = '' OR lower(j.title) LIKE '%' || lower(:title) || '%') AND " +
+      "(:location = '' OR lower(j.location) LIKE '%' || lower(:location) || '%') " +
+      "ORDER BY similarity(lower(coalesce(j.title, '')), lower(:title)) + " +
+      "similarity(lower(coalesce(j.location, '')), lower(:location)) DESC, j.id",
+      countQuery = "SELECT count(*) FROM jobs j WHERE " +
+          "(:title = '' OR lower(j.title) LIKE '%' || lower(:title) || '%') AND " +
+          "(:location = '' OR lower(j.location) LIKE '%' || lower(:location) || '%')",
+      nativeQuery = true)
+  Page<ScoredJobRow> searchJobsByTitleAndLocationRanked(String title, String location, Pageable pageable);
 
 }
@@ -0,0 +1,21 @@
+package com.example.jobportal.repository;
+
+import com.example.jobportal.model.Job;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public interface JobRepositoryCustom {
+
+  // Columns clients may update
+  Set<String> UPDATABLE_FIELDS = Set.of("title", "description", "company", "location");
+
+  // Set by JobService alongside location (geocoding)
+  Set<String> COORDINATE_FIELDS = Set.of("latitude", "longitude");
+
+  // One UPDATE setting only the given fields (UPDATABLE_FIELDS and COORDINATE_FIELDS, bumping version
+  // and updated_at), limited to expectedVersion when it is not null. Returns the job as written,
+  // without its description, or empty when no row matched.
+  Optional<Job> updateFields(Long id, Map<String, ?> fields, Long expectedVersion);
+}
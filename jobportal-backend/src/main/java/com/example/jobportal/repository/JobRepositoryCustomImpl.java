@@ -0,0 +1,98 @@
+package com.example.jobportal.repository;
+
+import com.example.jobportal.model.Job;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// On PostgreSQL the update returns the new row (UPDATE ... RETURNING), so a write is one round trip.
+// Other databases read it back with a second statement in the same transaction.
+public class JobRepositoryCustomImpl implements JobRepositoryCustom {
+
+  private static final String RETURNED_COLUMNS = "id, title, company, location, latitude, longitude, version";
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  private Boolean returningSupported;
+
+  @Override
+  @Transactional
+  public Optional<Job> updateFields(Long id, Map<String, ?> fields, Long expectedVersion) {
+    if (fields.isEmpty() || !fields.keySet().stream()
+        .allMatch(field -> UPDATABLE_FIELDS.contains(field) || COORDINATE_FIELDS.contains(field))) {
+      throw new IllegalArgumentException("Updatable fields are " + UPDATABLE_FIELDS + ", got " + fields.keySet());
+    }
+    // Column names only ever come from UPDATABLE_FIELDS and COORDINATE_FIELDS, values are bound
+    StringBuilder sql = new StringBuilder("UPDATE jobs SET ");
+    for (String field : fields.keySet()) {
+      // A null bound without a type would not be accepted for a numeric column
+      if (COORDINATE_FIELDS.contains(field)) {
+        sql.append(field).append(" = cast(:").append(field).append(" as double precision), ");
+      } else {
+        sql.append(field).append(" = :").append(field).append(", ");
+      }
+    }
+    sql.append("version = coalesce(version, 0) + 1, updated_at = :updatedAt WHERE id = :id");
+    if (expectedVersion != null) {
+      sql.append(" AND coalesce(version, 0) = :expectedVersion");
+    }
+
+    boolean returning = returningSupported();
+    if (returning) {
+      sql.append(" RETURNING ").append(RETURNED_COLUMNS);
+    }
+    Instant updatedAt = Instant.now();
+    Query update = returning ? entityManager.createNativeQuery(sql.toString(), Tuple.class)
+        : entityManager.createNativeQuery(sql.toString());
+    fields.forEach(update::setParameter);
+    update.setParameter("updatedAt", updatedAt);
+    update.setParameter("id", id);
+    if (expectedVersion != null) {
+      update.setParameter("expectedVersion", expectedVersion);
+    }
+
+    Tuple row = null;
+    if (returning) {
+      @SuppressWarnings("unchecked")
+      List<Tuple> rows = update.getResultList();
+      row = rows.isEmpty() ? null : rows.get(0);
+    } else if (update.executeUpdate() > 0) {
+      row = (Tuple) entityManager
+          .createNativeQuery("SELECT " + RETURNED_COLUMNS + " FROM jobs WHERE id = :id", Tuple.class)
+          .setParameter("id", id)
+          .getSingleResult();
+    }
+    if (row == null) {
+      return Optional.empty();
+    }
+    Job job = new Job(id, row.get("title", String.class), null, row.get("company", String.class),
+        row.get("location", String.class));
+    job.setLatitude(coordinate(row.get("latitude")));
+    job.setLongitude(coordinate(row.get("longitude")));
+    job.setVersion(((Number) row.get("version")).longValue());
+    job.setUpdatedAt(updatedAt);
+    return Optional.of(job);
+  }
+
+  private static Double coordinate(Object value) {
+    return value == null ? null : ((Number) value).doubleValue();
+  }
+
+  private boolean returningSupported() {
+    if (returningSupported == null) {
+      returningSupported = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+          .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+    return returningSupported;
+  }
+}
@@ -0,0 +1,15 @@
+package com.example.jobportal.repository;
+
+import com.example.jobportal.model.SavedSearch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SavedSearchRepository extends JpaRepository<SavedSearch, Long> {
+
+  List<SavedSearch> findByUserIdOrderById(Long userId);
+
+  long countByUserId(Long userId);
+}
@@ -0,0 +1,339 @@
+package com.example.jobportal.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+// BM25F relevance ranking over the title, company and description of jobs. Term frequencies are
+// normalized by each field's length, weighted by the field's boost and summed before saturation, so a
+// word in the title counts for more than the same word in the description.
+// Documents live in segments of up to segmentSize; each segment has its own inverted index (one
+// posting per document and term, with the term's frequency in every field) and is scored on its own,
+// in parallel when search is given an executor. A segment keeps only its best k documents in a
+// bounded heap and the segments' heaps are merged, so no query sorts all of its matches.
+// Updates retire the old document and append the new one to the last segment. Retired documents
+// still count in term and length statistics until their segment is compacted, as in Lucene.
+// Not thread-safe: Bm25JobRanking guards it with a read/write lock; searches only read.
+public class Bm25Index {
+
+    public static final int TITLE = 0;
+    public static final int COMPANY = 1;
+    public static final int DESCRIPTION = 2;
+    public static final int FIELD_COUNT = 3;
+
+    public record Hit(long id, double score) {
+    }
+
+    // totalHits counts every live document matching at least one query term
+    public record TopHits(int totalHits, List<Hit> hits) {
+    }
+
+    private static final Comparator<Hit> BEST_FIRST =
+            Comparator.comparingDouble(Hit::score).reversed().thenComparingLong(Hit::id);
+
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "are", "as", "at", "be", "by",
+            "for", "from", "in", "is", "it", "of", "on", "or", "the", "to", "with");
+
+    // Frequencies of a term in title, company and description packed into one int: 10, 10 and 12 bits
+    private static final int[] TF_SHIFT = { 0, 10, 20 };
+    private static final int[] TF_MAX = { (1 << 10) - 1, (1 << 10) - 1, (1 << 12) - 1 };
+
+    private final float[] boosts;
+    private final double k1;
+    private final double b;
+    private final int segmentSize;
+    private final List<Segment> segments = new ArrayList<>();
+    private final Map<Long, Segment> segmentById = new HashMap<>();
+
+    public Bm25Index(float titleBoost, float companyBoost, float descriptionBoost, double k1, double b,
+            int segmentSize) {
+        this.boosts = new float[] { titleBoost, companyBoost, descriptionBoost };
+        this.k1 = k1;
+        this.b = b;
+        this.segmentSize = segmentSize;
+    }
+
+    private static final class Postings {
+        final IntList slots = new IntList(2);
+        final IntList frequencies = new IntList(2);
+    }
+
+    private record QueryTerm(String term, double idf) {
+    }
+
+    private final class Segment {
+        long[] ids = new long[Math.min(segmentSize, 1024)];
+        int[][] lengths = new int[FIELD_COUNT][ids.length];
+        BitSet live = new BitSet();
+        Map<Long, Integer> slotById = new HashMap<>();
+        Map<String, Postings> terms = new HashMap<>();
+        long[] lengthSum = new long[FIELD_COUNT];
+        int size;
+        int liveCount;
+
+        boolean isFull() {
+            return size == segmentSize;
+        }
+
+        void add(long id, String[] fieldValues) {
+            if (size == ids.length) {
+                int capacity = Math.min(segmentSize, size + (size >> 1));
+                ids = Arrays.copyOf(ids, capacity);
+                for (int f = 0; f < FIELD_COUNT; f++) {
+                    lengths[f] = Arrays.copyOf(lengths[f], capacity);
+                }
+            }
+            int slot = size++;
+            ids[slot] = id;
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                List<String> tokens = tokenize(fieldValues[f]);
+                lengths[f][slot] = tokens.size();
+                lengthSum[f] += tokens.size();
+                int shift = TF_SHIFT[f];
+                int max = TF_MAX[f];
+                for (String token : tokens) {
+                    frequencies.merge(token, 1 << shift,
+                            (packed, one) -> ((packed >>> shift) & max) == max ? packed : packed + one);
+                }
+            }
+            frequencies.forEach((term, packed) -> {
+                Postings postings = terms.computeIfAbsent(term, k -> new Postings());
+                postings.slots.add(slot);
+                postings.frequencies.add(packed);
+            });
+            live.set(slot);
+            slotById.put(id, slot);
+            liveCount++;
+        }
+
+        void remove(long id) {
+            live.clear(slotById.remove(id));
+            liveCount--;
+        }
+
+        boolean needsCompaction() {
+            int retired = size - liveCount;
+            return retired > 1024 && retired > liveCount;
+        }
+
+        // Drops retired documents from the postings and renumbers the live ones
+        void compact() {
+            int[] newSlot = new int[size];
+            long[] newIds = new long[Math.max(1024, liveCount + (liveCount >> 2))];
+            int[][] newLengths = new int[FIELD_COUNT][newIds.length];
+            long[] newLengthSum = new long[FIELD_COUNT];
+            int count = 0;
+            for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+                newSlot[slot] = count;
+                newIds[count] = ids[slot];
+                for (int f = 0; f < FIELD_COUNT; f++) {
+                    newLengths[f][count] = lengths[f][slot];
+                    newLengthSum[f] += lengths[f][slot];
+                }
+                slotById.put(ids[slot], count);
+                count++;
+            }
+            Map<String, Postings> newTerms = new HashMap<>();
+            terms.forEach((term, postings) -> {
+                Postings kept = null;
+                for (int i = 0; i < postings.slots.size(); i++) {
+                    int slot = postings.slots.get(i);
+                    if (live.get(slot)) {
+                        if (kept == null) {
+                            kept = new Postings();
+                            newTerms.put(term, kept);
+                        }
+                        kept.slots.add(newSlot[slot]);
+                        kept.frequencies.add(postings.frequencies.get(i));
+                    }
+                }
+            });
+            ids = newIds;
+            lengths = newLengths;
+            lengthSum = newLengthSum;
+            terms = newTerms;
+            live = new BitSet(count);
+            live.set(0, count);
+            size = count;
+        }
+
+        // Scores every live document containing a query term (term at a time into one accumulator)
+        // and keeps the best k
+        TopHits search(QueryTerm[] query, double[] averageLength, int k) {
+            double[] scores = new double[size];
+            BitSet matched = new BitSet(size);
+            for (QueryTerm term : query) {
+                Postings postings = terms.get(term.term());
+                if (postings == null) {
+                    continue;
+                }
+                for (int i = 0; i < postings.slots.size(); i++) {
+                    int slot = postings.slots.get(i);
+                    if (!live.get(slot)) {
+                        continue;
+                    }
+                    int packed = postings.frequencies.get(i);
+                    double weighted = 0;
+                    for (int f = 0; f < FIELD_COUNT; f++) {
+                        int tf = (packed >>> TF_SHIFT[f]) & TF_MAX[f];
+                        if (tf > 0) {
+                            weighted += boosts[f] * tf / (1 - b + b * lengths[f][slot] / averageLength[f]);
+                        }
+                    }
+                    scores[slot] += term.idf() * weighted * (k1 + 1) / (weighted + k1);
+                    matched.set(slot);
+                }
+            }
+
+            // Head is the worst of the best k so far
+            PriorityQueue<Hit> best = new PriorityQueue<>(Math.min(k, 1024), BEST_FIRST.reversed());
+            for (int slot = matched.nextSetBit(0); slot >= 0; slot = matched.nextSetBit(slot + 1)) {
+                if (best.size() < k) {
+                    best.add(new Hit(ids[slot], scores[slot]));
+                } else if (scores[slot] > best.peek().score()
+                        || (scores[slot] == best.peek().score() && ids[slot] < best.peek().id())) {
+                    best.poll();
+                    best.add(new Hit(ids[slot], scores[slot]));
+                }
+            }
+            return new TopHits(matched.cardinality(), new ArrayList<>(best));
+        }
+    }
+
+    // Lowercased runs of letters and digits, without one-letter words and common English stop words
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start > 1) {
+                    String token = text.substring(start, i).toLowerCase(Locale.ROOT);
+                    if (!STOP_WORDS.contains(token)) {
+                        tokens.add(token);
+                    }
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    public int size() {
+        return segmentById.size();
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public void put(long id, String title, String company, String description) {
+        remove(id);
+        Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (last == null || last.isFull()) {
+            last = new Segment();
+            segments.add(last);
+        }
+        last.add(id, new String[] { title, company, description });
+        segmentById.put(id, last);
+    }
+
+    public boolean remove(long id) {
+        Segment segment = segmentById.remove(id);
+        if (segment == null) {
+            return false;
+        }
+        segment.remove(id);
+        if (segment.liveCount == 0 && segment != segments.get(segments.size() - 1)) {
+            segments.remove(segment);
+        } else if (segment.needsCompaction()) {
+            segment.compact();
+        }
+        return true;
+    }
+
+    // Documents from offset to offset + limit of the ranking for the query, best first (ties by id).
+    // With an executor the segments are scored in parallel.
+    public TopHits search(String query, int offset, int limit, ExecutorService executor) {
+        long documents = 0;
+        long[] lengthSum = new long[FIELD_COUNT];
+        for (Segment segment : segments) {
+            documents += segment.size;
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                lengthSum[f] += segment.lengthSum[f];
+            }
+        }
+        double[] averageLength = new double[FIELD_COUNT];
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            averageLength[f] = documents == 0 || lengthSum[f] == 0 ? 1 : (double) lengthSum[f] / documents;
+        }
+
+        List<QueryTerm> terms = new ArrayList<>();
+        for (String term : new LinkedHashSet<>(tokenize(query))) {
+            long df = 0;
+            for (Segment segment : segments) {
+                Postings postings = segment.terms.get(term);
+                df += postings == null ? 0 : postings.slots.size();
+            }
+            if (df > 0) {
+                terms.add(new QueryTerm(term, Math.log(1 + (documents - df + 0.5) / (df + 0.5))));
+            }
+        }
+        if (terms.isEmpty() || limit <= 0) {
+            return new TopHits(0, List.of());
+        }
+
+        QueryTerm[] queryTerms = terms.toArray(QueryTerm[]::new);
+        int k = (int) Math.min(Integer.MAX_VALUE, (long) offset + limit);
+        List<TopHits> perSegment = new ArrayList<>(segments.size());
+        if (executor == null || segments.size() == 1) {
+            for (Segment segment : segments) {
+                perSegment.add(segment.search(queryTerms, averageLength, k));
+            }
+        } else {
+            List<Callable<TopHits>> tasks = new ArrayList<>(segments.size());
+            for (Segment segment : segments) {
+                tasks.add(() -> segment.search(queryTerms, averageLength, k));
+            }
+            try {
+                for (Future<TopHits> result : executor.invokeAll(tasks)) {
+                    perSegment.add(result.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while scoring segments", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Scoring a segment failed", e.getCause());
+            }
+        }
+
+        int totalHits = 0;
+        List<Hit> merged = new ArrayList<>();
+        for (TopHits hits : perSegment) {
+            totalHits += hits.totalHits();
+            merged.addAll(hits.hits());
+        }
+        merged.sort(BEST_FIRST);
+        List<Hit> page = offset >= merged.size() ? List.of()
+                : List.copyOf(merged.subList(offset, Math.min(merged.size(), k)));
+        return new TopHits(totalHits, page);
+    }
+}
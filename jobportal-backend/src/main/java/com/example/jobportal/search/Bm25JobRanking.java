@@ -0,0 +1,182 @@
+package com.example.jobportal.search;
+
+import com.example.jobportal.model.Job;
+import com.example.jobportal.model.JobSummary;
+import com.example.jobportal.model.ScoredJob;
+import com.example.jobportal.repository.JobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Ranks free-text queries with BM25F over an in-memory Bm25Index of title, company and description.
+// The index is built in the background once the application is ready; until then queries use the
+// PostgreSQL full-text ranking. Writes made while the build streams rows are queued and replayed after
+// it (see PendingIndexWrites). Segments are scored on a dedicated pool of jobs.search.bm25.threads.
+@Component
+@ConditionalOnProperty(name = "jobs.search.ranking", havingValue = "bm25")
+public class Bm25JobRanking implements JobRanking {
+
+    private static final Logger logger = LoggerFactory.getLogger(Bm25JobRanking.class);
+
+    private final JobRepository jobRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Bm25Index index;
+    private final ExecutorService executor;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final PendingIndexWrites pendingWrites = new PendingIndexWrites();
+    private volatile boolean ready;
+
+    public Bm25JobRanking(JobRepository jobRepository, PlatformTransactionManager transactionManager,
+            @Value("${jobs.search.bm25.title-boost:3}") float titleBoost,
+            @Value("${jobs.search.bm25.company-boost:2}") float companyBoost,
+            @Value("${jobs.search.bm25.description-boost:1}") float descriptionBoost,
+            @Value("${jobs.search.bm25.k1:1.2}") double k1,
+            @Value("${jobs.search.bm25.b:0.75}") double b,
+            @Value("${jobs.search.bm25.segment-size:65536}") int segmentSize,
+            @Value("${jobs.search.bm25.threads:0}") int threads) {
+        this.jobRepository = jobRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.index = new Bm25Index(titleBoost, companyBoost, descriptionBoost, k1, b, segmentSize);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        // One thread gains nothing over scoring on the request thread
+        this.executor = poolSize == 1 ? null : Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "bm25-search-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        Thread builder = new Thread(this::rebuild, "bm25-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    void rebuild() {
+        long started = System.nanoTime();
+        withWriteLock(pendingWrites::startBuild);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<JobRankingFields> rows = jobRepository.streamRankingFields()) {
+                    rows.forEach(row -> withWriteLock(
+                            () -> index.put(row.getId(), row.getTitle(), row.getCompany(), row.getDescription())));
+                }
+            });
+            withWriteLock(() -> {
+                pendingWrites.finishBuild();
+                ready = true;
+            });
+            logger.info("BM25 index built with {} jobs in {} segments in {} ms", index.size(), index.segmentCount(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            withWriteLock(pendingWrites::finishBuild);
+            logger.error("Building the BM25 index failed, ranked searches keep using the database", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public Page<ScoredJob> search(String query, Pageable pageable) {
+        if (!ready) {
+            return jobRepository.searchJobsFullText(query, pageable).map(ScoredJobRow::toScoredJob);
+        }
+
+        Bm25Index.TopHits top;
+        lock.readLock().lock();
+        try {
+            top = index.search(query, (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE),
+                    pageable.getPageSize(), executor);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> ids = new ArrayList<>(top.hits().size());
+        for (Bm25Index.Hit hit : top.hits()) {
+            ids.add(hit.id());
+        }
+        Map<Long, JobSummary> summaries = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (JobSummary summary : jobRepository.findSummariesByIdIn(ids)) {
+                summaries.put(summary.id(), summary);
+            }
+        }
+        List<ScoredJob> jobs = new ArrayList<>(ids.size());
+        for (Bm25Index.Hit hit : top.hits()) {
+            // Skips jobs deleted since the index was read
+            JobSummary summary = summaries.get(hit.id());
+            if (summary != null) {
+                jobs.add(ScoredJob.of(summary, hit.score()));
+            }
+        }
+        return new PageImpl<>(jobs, pageable, top.totalHits());
+    }
+
+    // A job saved without its description (patches of other fields) is read back for it
+    @Override
+    public void onJobSaved(Job job) {
+        if (job.getDescription() == null) {
+            jobRepository.findRankingFieldsById(job.getId()).ifPresent(this::put);
+        } else {
+            put(job.getId(), job.getTitle(), job.getCompany(), job.getDescription());
+        }
+    }
+
+    @Override
+    public void onJobDeleted(Long id) {
+        withWriteLock(() -> pendingWrites.apply(() -> index.remove(id)));
+    }
+
+    @Override
+    public void onJobsImported(long afterId) {
+        try (Stream<JobRankingFields> rows = jobRepository.streamRankingFieldsByIdAfter(afterId)) {
+            rows.forEach(this::put);
+        }
+    }
+
+    private void put(JobRankingFields row) {
+        put(row.getId(), row.getTitle(), row.getCompany(), row.getDescription());
+    }
+
+    private void put(Long id, String title, String company, String description) {
+        withWriteLock(() -> pendingWrites.apply(() -> index.put(id, title, company, description)));
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.jobportal.search;
+
+import java.util.Arrays;
+
+// Growable array of primitive ints, used for posting lists
+final class IntList {
+
+    private int[] values;
+    private int size;
+
+    IntList() {
+        this(4);
+    }
+
+    IntList(int capacity) {
+        this.values = new int[Math.max(capacity, 1)];
+    }
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int last() {
+        return values[size - 1];
+    }
+
+    // Both lists must be sorted ascending
+    IntList intersect(IntList other) {
+        IntList result = new IntList(Math.min(size, other.size));
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            int a = values[i];
+            int b = other.values[j];
+            if (a == b) {
+                result.add(a);
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.jobportal.search;
+
+import com.example.jobportal.model.Job;
+import com.example.jobportal.model.ScoredJob;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+// Strategy behind the free-text query (q) of JobService.searchJobsRanked, selected with jobs.search.ranking.
+// Rankings that keep their own index are notified of every write made through JobService.
+public interface JobRanking {
+
+    // Jobs matching the query, best first, with their scores
+    Page<ScoredJob> search(String query, Pageable pageable);
+
+    default void onJobSaved(Job job) {
+    }
+
+    default void onJobDeleted(Long id) {
+    }
+
+    // Jobs with ids above afterId were inserted behind JPA's back (bulk loads)
+    default void onJobsImported(long afterId) {
+    }
+}
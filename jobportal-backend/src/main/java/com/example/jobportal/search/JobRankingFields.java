@@ -0,0 +1,13 @@
+package com.example.jobportal.search;
+
+// Projection of the columns Bm25JobRanking indexes
+public interface JobRankingFields {
+
+    Long getId();
+
+    String getTitle();
+
+    String getCompany();
+
+    String getDescription();
+}
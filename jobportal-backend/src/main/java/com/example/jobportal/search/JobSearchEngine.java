@@ -0,0 +1,26 @@
+package com.example.jobportal.search;
+
+import com.example.jobportal.model.Job;
+import com.example.jobportal.model.JobSummary;
+
+import java.util.List;
+
+// Strategy behind JobService.searchJobs, selected with jobs.search.engine.
+// Engines that keep their own index are notified of every write made through JobService.
+public interface JobSearchEngine {
+
+    // Same contract as JobRepository.searchJobsByTitleAndLocation: case-insensitive substring match,
+    // a null or empty parameter does not constrain the result.
+    List<JobSummary> search(String title, String location);
+
+    default void onJobSaved(Job job) {
+    }
+
+    default void onJobDeleted(Long id) {
+    }
+
+    // False while an engine's index is still being built (searches then go to the database)
+    default boolean isReady() {
+        return true;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.jobportal.search;
+
+// Projection of the columns the in-memory indexes are built from
+public interface JobSearchFields {
+
+    Long getId();
+
+    String getTitle();
+
+    String getLocation();
+
+    String getCompany();
+}
@@ -0,0 +1,21 @@
+package com.example.jobportal.search;
+
+import com.example.jobportal.model.JobSummary;
+
+// JobSummary columns as returned by the native ranked queries, which cannot build the record directly
+public interface JobSummaryRow {
+
+    Long getId();
+
+    String getTitle();
+
+    String getCompany();
+
+    String getLocation();
+
+    String getSnippet();
+
+    default JobSummary toSummary() {
+        return new JobSummary(getId(), getTitle(), getCompany(), getLocation(), getSnippet());
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.jobportal.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Orders the write hooks of an in-memory index after its startup build. While the build streams rows
+// from the database, writes are queued instead of applied; finishing the build replays them, so a
+// row read before a later update or delete cannot overwrite it or bring a deleted job back.
+// Not thread-safe: callers hold the index's write lock around every method.
+public final class PendingIndexWrites {
+
+    private List<Runnable> queued;
+
+    public void startBuild() {
+        queued = new ArrayList<>();
+    }
+
+    public void apply(Runnable write) {
+        if (queued != null) {
+            queued.add(write);
+        } else {
+            write.run();
+        }
+    }
+
+    // Replays the writes made during the build, in order; later writes apply directly
+    public void finishBuild() {
+        List<Runnable> writes = queued;
+        queued = null;
+        if (writes != null) {
+            writes.forEach(Runnable::run);
+        }
+    }
+}
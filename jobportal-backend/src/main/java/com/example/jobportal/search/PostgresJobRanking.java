@@ -0,0 +1,25 @@
+package com.example.jobportal.search;
+
+import com.example.jobportal.model.ScoredJob;
+import com.example.jobportal.repository.JobRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+// Ranks with ts_rank_cd on the search_vector full-text index (db/migration/postgresql)
+@Component
+@ConditionalOnProperty(name = "jobs.search.ranking", havingValue = "postgres", matchIfMissing = true)
+public class PostgresJobRanking implements JobRanking {
+
+    private final JobRepository jobRepository;
+
+    public PostgresJobRanking(JobRepository jobRepository) {
+        this.jobRepository = jobRepository;
+    }
+
+    @Override
+    public Page<ScoredJob> search(String query, Pageable pageable) {
+        return jobRepository.searchJobsFullText(query, pageable).map(ScoredJobRow::toScoredJob);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.jobportal.search;
+
+import com.example.jobportal.model.JobSummary;
+import com.example.jobportal.repository.JobRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Runs title/location searches against the pg_trgm expression indexes, best matches first
+@Component
+@ConditionalOnProperty(name = "jobs.search.engine", havingValue = "postgres")
+public class PostgresJobSearchEngine implements JobSearchEngine {
+
+    private final JobRepository jobRepository;
+
+    public PostgresJobSearchEngine(JobRepository jobRepository) {
+        this.jobRepository = jobRepository;
+    }
+
+    @Override
+    public List<JobSummary> search(String title, String location) {
+        return jobRepository.searchJobsByTitleAndLocationRanked(nullToEmpty(title), nullToEmpty(location),
+                Pageable.unpaged()).map(JobSummaryRow::toSummary).getContent();
+    }
+
+    static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.jobportal.search;
+
+import com.example.jobportal.model.JobSummary;
+import com.example.jobportal.repository.JobRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "jobs.search.engine", havingValue = "jpql", matchIfMissing = true)
+public class RepositoryJobSearchEngine implements JobSearchEngine {
+
+    private final JobRepository jobRepository;
+
+    public RepositoryJobSearchEngine(JobRepository jobRepository) {
+        this.jobRepository = jobRepository;
+    }
+
+    @Override
+    public List<JobSummary> search(String title, String location) {
+        return jobRepository.searchJobsByTitleAndLocation(title, location);
+    }
+}
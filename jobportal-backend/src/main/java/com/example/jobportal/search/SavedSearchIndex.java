@@ -0,0 +1,140 @@
+package com.example.jobportal.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Reverse index of saved title/location searches: given a job, finds the searches it matches without
+// looking at the others. A search matches when each of its non-empty fields is a case-insensitive
+// substring of the job's field, so every substring of the search is also one of the job. Each search
+// is therefore filed under a single gram (3 characters, or the whole field when shorter) taken from
+// one of its fields, the one whose bucket is smallest at the time, and a job only checks the buckets
+// of the grams it contains. Unlike the LIKE search, '%' and '_' are plain characters here.
+// Not thread-safe: JobAlertService guards it with a read/write lock.
+public class SavedSearchIndex {
+
+    public static final int TITLE = 0;
+    public static final int LOCATION = 1;
+
+    private static final int GRAM = 3;
+
+    public record SavedQuery(long id, long userId, String title, String location) {
+    }
+
+    private final Map<Long, List<SavedQuery>> buckets = new HashMap<>();
+    private final Map<Long, Long> bucketById = new HashMap<>();
+    // Grams shorter than GRAM exist only for short searches; jobs skip looking them up while there are none
+    private int shortGramCount;
+
+    public static String normalize(String value) {
+        return value == null || value.isEmpty() ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    public int size() {
+        return bucketById.size();
+    }
+
+    // Replaces any search with the same id. A search with neither title nor location matches nothing.
+    public void put(long id, long userId, String title, String location) {
+        remove(id);
+        SavedQuery query = new SavedQuery(id, userId, normalize(title), normalize(location));
+        long best = -1;
+        int bestSize = Integer.MAX_VALUE;
+        for (int f = TITLE; f <= LOCATION; f++) {
+            String value = f == TITLE ? query.title() : query.location();
+            if (value == null) {
+                continue;
+            }
+            int length = Math.min(GRAM, value.length());
+            for (int i = 0; i + length <= value.length(); i++) {
+                long key = key(f, value, i, length);
+                List<SavedQuery> bucket = buckets.get(key);
+                int size = bucket == null ? 0 : bucket.size();
+                if (size < bestSize) {
+                    best = key;
+                    bestSize = size;
+                }
+            }
+        }
+        if (bestSize == Integer.MAX_VALUE) {
+            return;
+        }
+        buckets.computeIfAbsent(best, k -> new ArrayList<>(2)).add(query);
+        bucketById.put(id, best);
+        if (gramLength(best) < GRAM) {
+            shortGramCount++;
+        }
+    }
+
+    public boolean remove(long id) {
+        Long key = bucketById.remove(id);
+        if (key == null) {
+            return false;
+        }
+        List<SavedQuery> bucket = buckets.get(key);
+        bucket.removeIf(query -> query.id() == id);
+        if (bucket.isEmpty()) {
+            buckets.remove(key);
+        }
+        if (gramLength(key) < GRAM) {
+            shortGramCount--;
+        }
+        return true;
+    }
+
+    // Every saved search the job matches, each once
+    public List<SavedQuery> match(String title, String location) {
+        String[] values = { normalize(title), normalize(location) };
+        List<SavedQuery> matches = new ArrayList<>();
+        int minLength = shortGramCount > 0 ? 1 : GRAM;
+        for (int f = TITLE; f <= LOCATION; f++) {
+            String value = values[f];
+            if (value == null) {
+                continue;
+            }
+            for (int length = minLength; length <= GRAM; length++) {
+                for (int i = 0; i + length <= value.length(); i++) {
+                    List<SavedQuery> bucket = buckets.get(key(f, value, i, length));
+                    // A gram that occurs twice in the value leads to the same bucket again
+                    if (bucket == null || occursBefore(value, i, length)) {
+                        continue;
+                    }
+                    for (SavedQuery query : bucket) {
+                        if (contains(values[TITLE], query.title()) && contains(values[LOCATION], query.location())) {
+                            matches.add(query);
+                        }
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static boolean contains(String value, String query) {
+        return query == null || (value != null && value.contains(query));
+    }
+
+    private static boolean occursBefore(String value, int i, int length) {
+        for (int j = 0; j < i; j++) {
+            if (value.regionMatches(j, value, i, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Field, gram length and up to three 16-bit characters in one long
+    private static long key(int field, String s, int i, int length) {
+        long key = ((long) field << 50) | ((long) length << 48);
+        for (int c = 0; c < length; c++) {
+            key |= (long) s.charAt(i + c) << (32 - 16 * c);
+        }
+        return key;
+    }
+
+    private static int gramLength(long key) {
+        return (int) (key >>> 48) & 0x3;
+    }
+}
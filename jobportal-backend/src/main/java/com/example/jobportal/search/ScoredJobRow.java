@@ -0,0 +1,13 @@
+package com.example.jobportal.search;
+
+import com.example.jobportal.model.ScoredJob;
+
+// JobSummaryRow of the ranked native queries, with the rank they were ordered by
+public interface ScoredJobRow extends JobSummaryRow {
+
+    Double getScore();
+
+    default ScoredJob toScoredJob() {
+        return ScoredJob.of(toSummary(), getScore() == null ? 0 : getScore());
+    }
+}
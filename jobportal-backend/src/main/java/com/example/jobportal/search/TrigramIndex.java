@@ -0,0 +1,189 @@
+package com.example.jobportal.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Trigram inverted index over the lowercased title, location and company of jobs.
+// Every document gets an int slot; posting lists hold slots in ascending order. Updates retire the
+// old slot and append a new one, retired slots are reclaimed by compact().
+// Not thread-safe: TrigramJobSearchEngine guards it with a read/write lock.
+class TrigramIndex {
+
+    static final int TITLE = 0;
+    static final int LOCATION = 1;
+    static final int COMPANY = 2;
+    static final int FIELD_COUNT = 3;
+
+    private static final long[] NO_IDS = new long[0];
+
+    private long[] ids;
+    private String[][] values;
+    private BitSet live;
+    private List<Map<Long, IntList>> postings;
+    private Map<Long, Integer> slotById;
+    private int size;
+    private int liveCount;
+
+    TrigramIndex() {
+        reset(1024);
+    }
+
+    private void reset(int capacity) {
+        ids = new long[capacity];
+        values = new String[FIELD_COUNT][capacity];
+        live = new BitSet(capacity);
+        postings = new ArrayList<>(FIELD_COUNT);
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            postings.add(new HashMap<>());
+        }
+        slotById = new HashMap<>();
+        size = 0;
+        liveCount = 0;
+    }
+
+    static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    int liveCount() {
+        return liveCount;
+    }
+
+    void put(long id, String title, String location, String company) {
+        remove(id);
+        add(id, new String[] { normalize(title), normalize(location), normalize(company) });
+    }
+
+    private void add(long id, String[] fieldValues) {
+        if (size == ids.length) {
+            int capacity = size + (size >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                values[f] = Arrays.copyOf(values[f], capacity);
+            }
+        }
+        int slot = size++;
+        ids[slot] = id;
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            String value = fieldValues[f];
+            values[f][slot] = value;
+            if (value == null) {
+                continue;
+            }
+            Map<Long, IntList> fieldPostings = postings.get(f);
+            for (int i = 0; i + 3 <= value.length(); i++) {
+                IntList list = fieldPostings.computeIfAbsent(trigram(value, i), k -> new IntList());
+                if (list.isEmpty() || list.last() != slot) {
+                    list.add(slot);
+                }
+            }
+        }
+        live.set(slot);
+        slotById.put(id, slot);
+        liveCount++;
+    }
+
+    boolean remove(long id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return false;
+        }
+        live.clear(slot);
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            values[f][slot] = null;
+        }
+        liveCount--;
+        return true;
+    }
+
+    boolean needsCompaction() {
+        int retired = size - liveCount;
+        return retired > 1024 && retired > liveCount;
+    }
+
+    // Rebuilds the posting lists from live documents only
+    void compact() {
+        long[] oldIds = ids;
+        String[][] oldValues = values;
+        BitSet oldLive = live;
+        reset(Math.max(1024, liveCount + (liveCount >> 2)));
+        for (int slot = oldLive.nextSetBit(0); slot >= 0; slot = oldLive.nextSetBit(slot + 1)) {
+            add(oldIds[slot], new String[] { oldValues[TITLE][slot], oldValues[LOCATION][slot],
+                    oldValues[COMPANY][slot] });
+        }
+    }
+
+    // Ids, ascending, of live documents whose fields contain every given lowercase substring.
+    // queries is indexed by field; a null entry leaves that field unconstrained.
+    long[] search(String[] queries) {
+        List<IntList> lists = new ArrayList<>();
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            String query = queries[f];
+            if (query == null) {
+                continue;
+            }
+            Map<Long, IntList> fieldPostings = postings.get(f);
+            for (int i = 0; i + 3 <= query.length(); i++) {
+                IntList list = fieldPostings.get(trigram(query, i));
+                if (list == null) {
+                    return NO_IDS;
+                }
+                lists.add(list);
+            }
+        }
+
+        IntList candidates = null;
+        if (!lists.isEmpty()) {
+            lists.sort(Comparator.comparingInt(IntList::size));
+            candidates = lists.get(0);
+            for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+                candidates = candidates.intersect(lists.get(i));
+            }
+        }
+
+        long[] result = new long[candidates == null ? liveCount : candidates.size()];
+        int count = 0;
+        if (candidates == null) {
+            for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+                if (matches(slot, queries)) {
+                    result[count++] = ids[slot];
+                }
+            }
+        } else {
+            for (int i = 0; i < candidates.size(); i++) {
+                int slot = candidates.get(i);
+                if (live.get(slot) && matches(slot, queries)) {
+                    result[count++] = ids[slot];
+                }
+            }
+        }
+        long[] matched = Arrays.copyOf(result, count);
+        Arrays.sort(matched);
+        return matched;
+    }
+
+    // Trigrams only narrow the candidates down, the substring check decides
+    private boolean matches(int slot, String[] queries) {
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            String query = queries[f];
+            if (query == null) {
+                continue;
+            }
+            String value = values[f][slot];
+            if (value == null || !value.contains(query)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long trigram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+}
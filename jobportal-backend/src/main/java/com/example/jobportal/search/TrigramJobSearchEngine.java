@@ -0,0 +1,152 @@
+package com.example.jobportal.search;
+
+import com.example.jobportal.model.Job;
+import com.example.jobportal.model.JobSummary;
+import com.example.jobportal.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Answers title/location searches from an in-memory trigram index instead of a LIKE scan in Postgres.
+// The index is built in the background once the application is ready; until then, and for queries
+// containing LIKE wildcards, searches go to the repository so results stay identical to the JPQL query.
+// Writes made while the build streams rows are queued and replayed after it (see PendingIndexWrites).
+@Component
+@ConditionalOnProperty(name = "jobs.search.engine", havingValue = "trigram")
+public class TrigramJobSearchEngine implements JobSearchEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrigramJobSearchEngine.class);
+    private static final int FETCH_BATCH_SIZE = 1000;
+
+    private final JobRepository jobRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TrigramIndex index = new TrigramIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final PendingIndexWrites pendingWrites = new PendingIndexWrites();
+    private volatile boolean ready;
+
+    public TrigramJobSearchEngine(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+        this.jobRepository = jobRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        Thread builder = new Thread(this::rebuild, "trigram-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    void rebuild() {
+        long started = System.nanoTime();
+        withWriteLock(pendingWrites::startBuild);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<JobSearchFields> rows = jobRepository.streamSearchFields()) {
+                    rows.forEach(row -> withWriteLock(
+                            () -> indexJob(row.getId(), row.getTitle(), row.getLocation(), row.getCompany())));
+                }
+            });
+            withWriteLock(() -> {
+                pendingWrites.finishBuild();
+                ready = true;
+            });
+            logger.info("Trigram index built with {} jobs in {} ms", index.liveCount(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            withWriteLock(pendingWrites::finishBuild);
+            logger.error("Building the trigram index failed, searches keep using the database", e);
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public List<JobSummary> search(String title, String location) {
+        if (!ready || (isEmpty(title) && isEmpty(location)) || hasLikeWildcard(title) || hasLikeWildcard(location)) {
+            return jobRepository.searchJobsByTitleAndLocation(title, location);
+        }
+
+        String[] queries = new String[TrigramIndex.FIELD_COUNT];
+        queries[TrigramIndex.TITLE] = isEmpty(title) ? null : TrigramIndex.normalize(title);
+        queries[TrigramIndex.LOCATION] = isEmpty(location) ? null : TrigramIndex.normalize(location);
+
+        long[] ids;
+        lock.readLock().lock();
+        try {
+            ids = index.search(queries);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<JobSummary> jobs = new ArrayList<>(ids.length);
+        for (int from = 0; from < ids.length; from += FETCH_BATCH_SIZE) {
+            List<Long> batch = new ArrayList<>(FETCH_BATCH_SIZE);
+            for (int i = from; i < Math.min(ids.length, from + FETCH_BATCH_SIZE); i++) {
+                batch.add(ids[i]);
+            }
+            jobs.addAll(jobRepository.findSummariesByIdIn(batch));
+        }
+        jobs.sort(Comparator.comparing(JobSummary::id));
+        return jobs;
+    }
+
+    @Override
+    public void onJobSaved(Job job) {
+        String title = job.getTitle();
+        String location = job.getLocation();
+        String company = job.getCompany();
+        withWriteLock(() -> pendingWrites.apply(() -> indexJob(job.getId(), title, location, company)));
+    }
+
+    @Override
+    public void onJobDeleted(Long id) {
+        withWriteLock(() -> pendingWrites.apply(() -> {
+            if (index.remove(id) && index.needsCompaction()) {
+                index.compact();
+            }
+        }));
+    }
+
+    // Caller holds the write lock
+    private void indexJob(Long id, String title, String location, String company) {
+        index.put(id, title, location, company);
+        if (index.needsCompaction()) {
+            index.compact();
+        }
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+
+    // '%' and '_' are wildcards and '\' the escape character in the repository's LIKE patterns
+    private static boolean hasLikeWildcard(String value) {
+        return value != null && (value.indexOf('%') >= 0 || value.indexOf('_') >= 0 || value.indexOf('\\') >= 0);
+    }
+}
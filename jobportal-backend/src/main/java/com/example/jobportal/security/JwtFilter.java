@@ -6,6 +6,8 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,16 +17,22 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
+  private static final Logger logger = LoggerFactory.getLogger(JwtFilter.class);
+
   @Autowired
   private JwtUtil jwtUtil;
 
   @Autowired
   private UserDetailsServiceImpl userDetailsService;
 
+  @Autowired
+  private PrincipalCache principalCache;
+
   @Override
   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
       FilterChain filterChain) throws ServletException, IOException {
@@ -49,9 +57,9 @@ public class JwtFilter extends OncePerRequestFilter {
         if (isAllowed) {
           response.setHeader("Access-Control-Allow-Origin", origin);
           response.setHeader("Access-Control-Allow-Credentials", "true");
-          response.setHeader("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
+          response.setHeader("Access-Control-Allow-Methods", "GET, POST, PUT, PATCH, DELETE, OPTIONS");
           response.setHeader("Access-Control-Allow-Headers",
-              "Authorization, Content-Type, Accept, Origin, User-Agent, DNT, Cache-Control, X-Mx-ReqToken, Keep-Alive, X-Requested-With, If-Modified-Since");
+              "Authorization, Content-Type, Accept, Origin, User-Agent, DNT, Cache-Control, X-Mx-ReqToken, Keep-Alive, X-Requested-With, If-Modified-Since, If-None-Match, If-Match");
           response.setHeader("Access-Control-Max-Age", "86400");
           response.setStatus(HttpServletResponse.SC_OK);
         }
@@ -61,20 +69,21 @@ public class JwtFilter extends OncePerRequestFilter {
 
     try {
       String jwt = parseJwt(request);
+      Optional<VerifiedToken> token = jwtUtil.verify(jwt);
 
-      if (jwt != null && jwtUtil.validateToken(jwt)) {
-        String email = jwtUtil.getEmailFromToken(jwt);
+      if (token.isPresent()) {
+        String email = token.get().subject();
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+        UserDetails userDetails = principalCache.get(email, userDetailsService::loadUserByUsername);
         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null,
             userDetails.getAuthorities());
         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        System.out.println("JWT authentication successful for: " + email);
+        logger.debug("JWT authentication successful for: {}", email);
       }
     } catch (Exception e) {
-      System.out.println("JWT authentication failed: " + e.getMessage());
+      logger.debug("JWT authentication failed: {}", e.getMessage());
     }
 
     filterChain.doFilter(request, response);
@@ -1,18 +1,31 @@
 package com.example.jobportal.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
@@ -23,56 +36,169 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400000}")
     private int jwtExpirationMs;
 
+    @Value("${jwt.verified-cache.enabled:true}")
+    private boolean verifiedCacheEnabled;
+
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private Key key;
 
+    // Immutable and thread-safe, shared by all requests
+    private JwtParser parser;
+
+    private MessageDigest sha256;
+
+    // Verified tokens keyed by SHA-256 of the compact token, each entry living until the token expires
+    private Cache<ByteBuffer, VerifiedToken> verifiedTokens;
+
+    // auth.jwt.verify by outcome: cached (cache hit), valid / invalid (signature checked)
+    private Timer cachedTimer;
+    private Timer validTimer;
+    private Timer invalidTimer;
+    private Timer issueTimer;
+
     @PostConstruct
     public void init() {
         if (jwtSecret == null || jwtSecret.isBlank()) {
             throw new IllegalStateException("JWT secret is not configured. Please set 'jwt.secret' in application.properties or environment variables.");
         }
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        if (verifiedCacheEnabled) {
+            try {
+                this.sha256 = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+            this.verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(verifiedCacheMaxSize)
+                    .expireAfter(new UntilTokenExpiry())
+                    .build();
+        }
+        this.cachedTimer = verifyTimer("cached");
+        this.validTimer = verifyTimer("valid");
+        this.invalidTimer = verifyTimer("invalid");
+        this.issueTimer = Timer.builder("auth.jwt.issue").description("JWT signing time").register(meterRegistry);
+    }
+
+    private Timer verifyTimer(String outcome) {
+        return Timer.builder("auth.jwt.verify").tag("outcome", outcome)
+                .description("JWT verification time").register(meterRegistry);
     }
 
     public String generateToken(UserDetails userDetails) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
-
-        return Jwts.builder()
-                .setSubject(userDetails.getUsername())
-                .claim("role", userDetails.getAuthorities().stream()
-                        .findFirst()
-                        .map(a -> a.getAuthority())
-                        .orElse("USER"))
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(key, SignatureAlgorithm.HS256)
-                .compact();
+        return generateToken(userDetails.getUsername(), userDetails.getAuthorities().stream()
+                .findFirst()
+                .map(a -> a.getAuthority())
+                .orElse("USER"));
+    }
+
+    public String generateToken(String subject, String role) {
+        return issueTimer.record(() -> {
+            Date now = new Date();
+            Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
+
+            return Jwts.builder()
+                    .setSubject(subject)
+                    .claim("role", role)
+                    .setIssuedAt(now)
+                    .setExpiration(expiryDate)
+                    .signWith(key, SignatureAlgorithm.HS256)
+                    .compact();
+        });
+    }
+
+    // Checks signature and expiry once and returns the claims the caller needs.
+    // Empty when the token is malformed, forged or expired.
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        long started = System.nanoTime();
+        ByteBuffer cacheKey = null;
+        if (verifiedTokens != null) {
+            cacheKey = digest(token);
+            VerifiedToken cached = verifiedTokens.getIfPresent(cacheKey);
+            if (cached != null && !cached.isExpired()) {
+                cachedTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                return Optional.of(cached);
+            }
+        }
+
+        VerifiedToken verified;
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            verified = new VerifiedToken(claims.getSubject(), claims.get("role", String.class), claims.getExpiration());
+        } catch (JwtException | IllegalArgumentException ex) {
+            invalidTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return Optional.empty();
+        }
+        if (cacheKey != null) {
+            verifiedTokens.put(cacheKey, verified);
+        }
+        validTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return Optional.of(verified);
     }
 
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
+        return verify(token)
+                .map(VerifiedToken::subject)
+                .orElseThrow(() -> new JwtException("Invalid JWT"));
     }
 
     public boolean validateToken(String token) {
+        return verify(token).isPresent();
+    }
+
+    // True for an authentic token past its expiry; like getEmailFromToken, throws JwtException for a
+    // malformed or forged one rather than reporting it as expired
+    public boolean isTokenExpired(String token) {
+        if (verify(token).isPresent()) {
+            return false;
+        }
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException ex) {
+            parser.parseClaimsJws(token);
             return false;
+        } catch (ExpiredJwtException e) {
+            return true;
+        } catch (IllegalArgumentException e) {
+            throw new JwtException("Invalid JWT", e);
         }
     }
 
-    public boolean isTokenExpired(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getExpiration().before(new Date());
+    private ByteBuffer digest(String token) {
+        MessageDigest md;
+        try {
+            md = (MessageDigest) sha256.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+        return ByteBuffer.wrap(md.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<ByteBuffer, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken token, long currentTime) {
+            if (token.expiresAt() == null) {
+                return TimeUnit.MINUTES.toNanos(5);
+            }
+            long remainingMs = token.expiresAt().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
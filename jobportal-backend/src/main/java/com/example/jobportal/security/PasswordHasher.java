@@ -0,0 +1,94 @@
+package com.example.jobportal.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Runs BCrypt on a dedicated, bounded pool so a burst of logins/registrations cannot occupy every
+// request thread. When the queue is full, encode/matches throw RejectedExecutionException right away
+// and the caller answers 503. Tasks go through the application's TaskDecorator, if there is one.
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final TaskDecorator taskDecorator;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:32}") int queueCapacity,
+            MeterRegistry meterRegistry, ObjectProvider<TaskDecorator> taskDecorator) {
+        this.passwordEncoder = passwordEncoder;
+        this.taskDecorator = taskDecorator.getIfUnique(() -> task -> task);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("auth.password.hash").tag("operation", "encode")
+                .description("BCrypt hashing time").register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash").tag("operation", "matches")
+                .description("BCrypt hashing time").register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("auth.password.queue.wait")
+                .description("Time a hashing task waited for a worker").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.rejected")
+                .description("Hashing tasks rejected because the queue was full").register(meterRegistry);
+        Gauge.builder("auth.password.queue.size", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    // True when the stored hash uses an older id or a lower cost than the current encoder
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> CompletableFuture<T> submit(Timer timer, Supplier<T> work) {
+        long enqueued = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWaitTimer.record(System.nanoTime() - enqueued, TimeUnit.NANOSECONDS);
+                return timer.record(work);
+            }, task -> executor.execute(taskDecorator.decorate(task)));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
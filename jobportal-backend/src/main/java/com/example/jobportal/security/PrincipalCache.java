@@ -0,0 +1,59 @@
+package com.example.jobportal.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Authenticated principals by email, so JwtFilter does not hit the users table on every request.
+// Entries expire after the TTL and are dropped once a change to the user row commits (see UserCacheListener).
+// Hit/miss/eviction counts are published as cache.* metrics with cache=principals.
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, UserDetails> cache;
+    // Bumped by every invalidation; a load that overlaps one is returned but not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public PrincipalCache(@Value("${security.principal-cache.ttl:5m}") Duration ttl,
+            @Value("${security.principal-cache.max-size:10000}") long maxSize,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    // Loader exceptions (e.g. UsernameNotFoundException) propagate and nothing is cached.
+    // The loader runs outside the cache: Cache.get(key, loader) would run it inside
+    // ConcurrentHashMap.compute, pinning a virtual thread to its carrier for the whole DB round trip.
+    // The row it read may predate a change committed meanwhile, so it is only stored when no
+    // invalidation ran since the load started; checked inside compute, an invalidation of the same
+    // email either sees the stored entry and drops it or makes the check fail.
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        UserDetails cached = cache.getIfPresent(email);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = invalidations.get();
+        UserDetails loaded = loader.apply(email);
+        cache.asMap().compute(email, (key, current) -> invalidations.get() == generation ? loaded : current);
+        return loaded;
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            invalidations.incrementAndGet();
+            cache.invalidate(email);
+        }
+    }
+}
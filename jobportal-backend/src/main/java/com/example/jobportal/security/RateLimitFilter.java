@@ -0,0 +1,130 @@
+package com.example.jobportal.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Token-bucket limits for expensive routes (security.rate-limit.routes.<name>.*), per user when the
+// request is authenticated and per client address otherwise: getRemoteAddr, which
+// server.forward-headers-strategy resolves from X-Forwarded-For behind a trusted proxy. Runs right
+// after JwtFilter; a refused request gets 429 with Retry-After and never reaches the controller.
+// Buckets that have refilled are evicted in the background every eviction-interval. Refusals are
+// counted as security.rate-limit.rejected{route}.
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    // limit requests per period, at most burst (default: limit) back to back; no method = any method
+    public record Route(String path, String method, int limit, Duration period, int burst) {
+    }
+
+    private record LimitedRoute(RequestMatcher matcher, RateLimiter limiter, Counter rejected) {
+    }
+
+    private final List<LimitedRoute> routes = new ArrayList<>();
+    private ScheduledExecutorService evictor;
+
+    public RateLimitFilter(Environment environment, MeterRegistry meterRegistry,
+            @Value("${security.rate-limit.enabled:true}") boolean enabled,
+            @Value("${security.rate-limit.max-keys:100000}") long maxKeys,
+            @Value("${security.rate-limit.eviction-interval:1s}") Duration evictionInterval) {
+        if (!enabled) {
+            return;
+        }
+        Map<String, Route> configured = Binder.get(environment)
+                .bind("security.rate-limit.routes", Bindable.mapOf(String.class, Route.class))
+                .orElse(Map.of());
+        configured.forEach((name, route) -> {
+            RateLimiter limiter = new RateLimiter(route.limit(), route.period(),
+                    route.burst() > 0 ? route.burst() : route.limit(), maxKeys);
+            Counter rejected = Counter.builder("security.rate-limit.rejected").tag("route", name)
+                    .description("Requests refused with 429").register(meterRegistry);
+            Gauge.builder("security.rate-limit.keys", limiter, RateLimiter::size).tag("route", name)
+                    .description("Buckets currently kept").register(meterRegistry);
+            routes.add(new LimitedRoute(new AntPathRequestMatcher(route.path(), route.method()), limiter, rejected));
+            logger.info("Rate limiting {} {} to {} per {} (burst {})", route.method() != null ? route.method() : "*",
+                    route.path(), route.limit(), route.period(), route.burst() > 0 ? route.burst() : route.limit());
+        });
+        if (!routes.isEmpty()) {
+            evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "rate-limit-eviction");
+                thread.setDaemon(true);
+                return thread;
+            });
+            evictor.scheduleWithFixedDelay(() -> routes.forEach(route -> route.limiter().evictIdle()),
+                    evictionInterval.toMillis(), evictionInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        for (LimitedRoute route : routes) {
+            if (route.matcher().matches(request)) {
+                long waitNanos = route.limiter().tryAcquire(clientKey(request));
+                if (waitNanos > 0) {
+                    route.rejected().increment();
+                    tooManyRequests(response, waitNanos);
+                    return;
+                }
+                break;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+
+    private static void tooManyRequests(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests, retry in " + retryAfterSeconds + " s\"}");
+    }
+}
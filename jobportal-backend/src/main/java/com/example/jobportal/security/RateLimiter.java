@@ -0,0 +1,118 @@
+package com.example.jobportal.security;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Token bucket per key, kept as a single timestamp (GCRA): the time at which the bucket is full again.
+// A request moves it forward by one token's worth and is refused when that would put it more than
+// burst tokens ahead of now, so taking a token is a ConcurrentHashMap read and one CAS, without locks.
+// A bucket that is full again carries no state and is dropped by evictIdle(). About maxKeys buckets
+// are kept: a new key arriving when they are all taken first evicts the idle ones itself and, if none
+// are idle, the tenth of the buckets closest to full again. Those keys lose the fewest tokens by being
+// forgotten, and a flood of new keys cannot lock out the clients that come after it.
+public class RateLimiter {
+
+    // Set by evictIdle on a bucket it removes; a request still holding it looks the key up again
+    private static final long EVICTED = Long.MIN_VALUE;
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final long maxKeys;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    // limit tokens per period, up to burst of them at once
+    public RateLimiter(int limit, Duration period, int burst, long maxKeys) {
+        this(limit, period, burst, maxKeys, System::nanoTime);
+    }
+
+    RateLimiter(int limit, Duration period, int burst, long maxKeys, LongSupplier nanoClock) {
+        if (limit <= 0 || burst <= 0 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Rate limit needs a positive limit, period and burst");
+        }
+        this.intervalNanos = Math.max(1, period.toNanos() / limit);
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+    }
+
+    // 0 when a token was taken, otherwise how many nanoseconds until the next one is available
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        while (true) {
+            AtomicLong fullAt = buckets.get(key);
+            if (fullAt == null) {
+                if (buckets.size() >= maxKeys) {
+                    makeRoom(now);
+                }
+                fullAt = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+            }
+            long current = fullAt.get();
+            if (current == EVICTED) {
+                buckets.remove(key, fullAt);
+                continue;
+            }
+            long start = current - now > 0 ? current : now;
+            long wait = start - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    // Drops the buckets that have refilled completely
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        for (Map.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+            AtomicLong fullAt = entry.getValue();
+            long current = fullAt.get();
+            if (current != EVICTED && current - now <= 0 && fullAt.compareAndSet(current, EVICTED)) {
+                buckets.remove(entry.getKey(), fullAt);
+            }
+        }
+    }
+
+    // One request at a time sweeps the table; the others add their key meanwhile, so the table can
+    // briefly hold a few more than maxKeys buckets
+    private void makeRoom(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            evictIdle();
+            if (buckets.size() >= maxKeys) {
+                evictNearestFull(now);
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private void evictNearestFull(long now) {
+        long[] ahead = buckets.values().stream().mapToLong(AtomicLong::get)
+                .filter(fullAt -> fullAt != EVICTED).map(fullAt -> fullAt - now).sorted().toArray();
+        if (ahead.length == 0) {
+            return;
+        }
+        long threshold = ahead[Math.max(1, ahead.length / 10) - 1];
+        for (Map.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+            AtomicLong fullAt = entry.getValue();
+            long current = fullAt.get();
+            if (current != EVICTED && current - now <= threshold && fullAt.compareAndSet(current, EVICTED)) {
+                buckets.remove(entry.getKey(), fullAt);
+            }
+        }
+    }
+
+    public long size() {
+        return buckets.size();
+    }
+}
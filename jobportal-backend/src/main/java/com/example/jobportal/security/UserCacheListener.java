@@ -0,0 +1,37 @@
+package com.example.jobportal.security;
+
+import com.example.jobportal.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Drops a cached principal whenever its user row is updated (role, password, ...) or deleted. The
+// callbacks run at flush, before commit: dropping the entry then would let a concurrent login or
+// request cache the old row again, so it is dropped once the transaction commits.
+@Component
+public class UserCacheListener {
+
+    private final PrincipalCache principalCache;
+
+    public UserCacheListener(PrincipalCache principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void userChanged(User user) {
+        String email = user.getEmail();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            principalCache.invalidate(email);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                principalCache.invalidate(email);
+            }
+        });
+    }
+}
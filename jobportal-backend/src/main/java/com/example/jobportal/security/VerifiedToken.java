@@ -0,0 +1,11 @@
+package com.example.jobportal.security;
+
+import java.util.Date;
+
+// Claims of a JWT whose signature and expiry have been checked
+public record VerifiedToken(String subject, String role, Date expiresAt) {
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.before(new Date());
+    }
+}
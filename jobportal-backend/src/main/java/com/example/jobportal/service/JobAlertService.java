@@ -0,0 +1,280 @@
+package com.example.jobportal.service;
+
+import com.example.jobportal.model.Job;
+import com.example.jobportal.model.JobAlert;
+import com.example.jobportal.model.JobSummary;
+import com.example.jobportal.model.SavedSearch;
+import com.example.jobportal.repository.JobAlertRepository;
+import com.example.jobportal.repository.JobRepository;
+import com.example.jobportal.repository.SavedSearchRepository;
+import com.example.jobportal.search.PendingIndexWrites;
+import com.example.jobportal.search.SavedSearchIndex;
+import com.example.jobportal.search.SavedSearchIndex.SavedQuery;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Saved searches and the alerts they produce. Every saved search is held in a SavedSearchIndex, so
+// a new or updated job is matched against the few searches filed under its grams instead of all of
+// them. Matches are queued per (user, job) and written every jobs.alerts.flush-interval as one JDBC
+// batch; the unique (user_id, job_id) key drops a job the user was already alerted about. A batch
+// that fails stays queued and is written by the next flush.
+// The index is loaded when the application is ready; jobs saved before that raise no alerts. Searches
+// saved or deleted while it loads are queued and replayed after it (see PendingIndexWrites).
+@Service
+public class JobAlertService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobAlertService.class);
+
+    private static final String SELECT_SQL = "SELECT id, user_id, title, location FROM saved_searches";
+    private static final String INSERT_SQL = "INSERT INTO job_alerts (user_id, job_id, saved_search_id, created_at) "
+            + "VALUES (?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    private record AlertKey(long userId, long jobId) {
+    }
+
+    private final SavedSearchRepository savedSearchRepository;
+    private final JobAlertRepository jobAlertRepository;
+    private final JobRepository jobRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int maxSearchesPerUser;
+    private final int batchSize;
+
+    private final SavedSearchIndex index = new SavedSearchIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final PendingIndexWrites pendingWrites = new PendingIndexWrites();
+    private final Map<AlertKey, Long> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService flusher;
+    private final Counter matched;
+    private final Counter written;
+
+    public JobAlertService(SavedSearchRepository savedSearchRepository, JobAlertRepository jobAlertRepository,
+            JobRepository jobRepository, DataSource dataSource, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${jobs.alerts.max-searches-per-user:50}") int maxSearchesPerUser,
+            @Value("${jobs.alerts.batch-size:1000}") int batchSize,
+            @Value("${jobs.alerts.flush-interval:5s}") Duration flushInterval) {
+        this.savedSearchRepository = savedSearchRepository;
+        this.jobAlertRepository = jobAlertRepository;
+        this.jobRepository = jobRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(1000);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxSearchesPerUser = maxSearchesPerUser;
+        this.batchSize = batchSize;
+
+        Gauge.builder("jobs.alerts.saved-searches", this, JobAlertService::savedSearchCount)
+                .description("Saved searches in the alert index").register(meterRegistry);
+        Gauge.builder("jobs.alerts.pending", pending, Map::size)
+                .description("Matches waiting for the next alert batch").register(meterRegistry);
+        this.matched = Counter.builder("jobs.alerts.matched")
+                .description("Saved searches matched by saved jobs").register(meterRegistry);
+        this.written = Counter.builder("jobs.alerts.written")
+                .description("Alerts stored, after dropping ones already sent").register(meterRegistry);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-alert-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        long started = System.nanoTime();
+        withWriteLock(pendingWrites::startBuild);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(SELECT_SQL, rs -> {
+                long id = rs.getLong("id");
+                long userId = rs.getLong("user_id");
+                String title = rs.getString("title");
+                String location = rs.getString("location");
+                withWriteLock(() -> index.put(id, userId, title, location));
+            }));
+        } finally {
+            withWriteLock(pendingWrites::finishBuild);
+        }
+        logger.info("Alert index loaded with {} saved searches in {} ms", savedSearchCount(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SavedSearch> getSavedSearches(Long userId) {
+        return savedSearchRepository.findByUserIdOrderById(userId);
+    }
+
+    // IllegalArgumentException when neither field is set or the user has too many searches
+    public SavedSearch saveSearch(Long userId, String title, String location) {
+        title = blankToNull(title);
+        location = blankToNull(location);
+        if (title == null && location == null) {
+            throw new IllegalArgumentException("A saved search needs a title or a location");
+        }
+        if (savedSearchRepository.countByUserId(userId) >= maxSearchesPerUser) {
+            throw new IllegalArgumentException("At most " + maxSearchesPerUser + " saved searches per user");
+        }
+        SavedSearch saved = savedSearchRepository.save(new SavedSearch(userId, title, location));
+        long id = saved.getId();
+        String savedTitle = title;
+        String savedLocation = location;
+        withWriteLock(() -> pendingWrites.apply(() -> index.put(id, userId, savedTitle, savedLocation)));
+        return saved;
+    }
+
+    // False when the search does not exist or belongs to someone else
+    public boolean deleteSearch(Long userId, Long id) {
+        Optional<SavedSearch> search = savedSearchRepository.findById(id).filter(s -> s.getUserId().equals(userId));
+        if (search.isEmpty()) {
+            return false;
+        }
+        savedSearchRepository.delete(search.get());
+        withWriteLock(() -> pendingWrites.apply(() -> index.remove(id)));
+        return true;
+    }
+
+    // The user's latest alerts with the jobs they point to, newest first; alerts for deleted jobs are left out
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAlerts(Long userId, int limit) {
+        List<JobAlert> alerts = jobAlertRepository.findByUserIdOrderByIdDesc(userId, Limit.of(limit));
+        Map<Long, JobSummary> jobs = jobRepository
+                .findSummariesByIdIn(alerts.stream().map(JobAlert::getJobId).distinct().toList()).stream()
+                .collect(Collectors.toMap(JobSummary::id, Function.identity()));
+        List<Map<String, Object>> result = new ArrayList<>(alerts.size());
+        for (JobAlert alert : alerts) {
+            JobSummary job = jobs.get(alert.getJobId());
+            if (job == null) {
+                continue;
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("id", alert.getId());
+            entry.put("savedSearchId", alert.getSavedSearchId());
+            entry.put("createdAt", alert.getCreatedAt());
+            entry.put("job", job);
+            result.add(entry);
+        }
+        return result;
+    }
+
+    // Queues an alert for every saved search the job matches; called by JobService on each save
+    public void onJobSaved(Job job) {
+        if (job.getId() == null) {
+            return;
+        }
+        List<SavedQuery> matches;
+        lock.readLock().lock();
+        try {
+            matches = index.match(job.getTitle(), job.getLocation());
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (matches.isEmpty()) {
+            return;
+        }
+        matched.increment(matches.size());
+        for (SavedQuery query : matches) {
+            pending.putIfAbsent(new AlertKey(query.userId(), job.getId()), query.id());
+        }
+        if (pending.size() >= batchSize) {
+            flusher.execute(this::flush);
+        }
+    }
+
+    void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            while (!pending.isEmpty()) {
+                // Entries leave the queue only once their insert has succeeded
+                List<Map.Entry<AlertKey, Long>> entries = new ArrayList<>(batchSize);
+                for (Map.Entry<AlertKey, Long> entry : pending.entrySet()) {
+                    entries.add(Map.entry(entry.getKey(), entry.getValue()));
+                    if (entries.size() == batchSize) {
+                        break;
+                    }
+                }
+                Timestamp now = Timestamp.from(Instant.now());
+                List<Object[]> batch = new ArrayList<>(entries.size());
+                for (Map.Entry<AlertKey, Long> entry : entries) {
+                    batch.add(new Object[] { entry.getKey().userId(), entry.getKey().jobId(), entry.getValue(), now });
+                }
+                int[] counts = jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                for (Map.Entry<AlertKey, Long> entry : entries) {
+                    pending.remove(entry.getKey(), entry.getValue());
+                }
+                for (int count : counts) {
+                    // Drivers may report SUCCESS_NO_INFO (-2) for batched rows
+                    written.increment(count == 0 ? 0 : 1);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Writing job alerts failed; {} stay queued for the next flush", pending.size(), e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flush();
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int savedSearchCount() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
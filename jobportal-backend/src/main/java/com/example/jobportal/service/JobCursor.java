@@ -0,0 +1,38 @@
+package com.example.jobportal.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque cursor for keyset pagination over jobs. Clients must treat it as a token, not as an id.
+public final class JobCursor {
+
+    private static final String PREFIX = "j:";
+
+    private JobCursor() {
+    }
+
+    public static String encode(long lastId) {
+        byte[] raw = (PREFIX + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    // Returns the id to seek after; a missing cursor starts from the beginning
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            long lastId = Long.parseLong(raw.substring(PREFIX.length()));
+            if (lastId < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return lastId;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
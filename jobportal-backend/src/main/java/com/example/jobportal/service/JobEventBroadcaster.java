@@ -0,0 +1,236 @@
+package com.example.jobportal.service;
+
+import com.example.jobportal.model.Job;
+import com.example.jobportal.model.JobSummary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Job changes for GET /api/jobs/stream (Server-Sent Events). Each event is serialized once and
+// queued to every subscriber without blocking: a subscriber whose buffer (jobs.stream.buffer-size)
+// is full is disconnected and resumes with Last-Event-ID. Writes happen on a virtual thread per
+// subscriber with pending events, so idle subscribers hold no thread. The last jobs.stream.replay-size
+// events are kept for resuming; a client further behind gets a reload event and refetches the list.
+//
+// Events: created and updated carry a JobSummary (snippet null when the description did not change),
+// deleted carries {"id": ...}, reload (bulk imports, resume gaps) carries nothing.
+@Component
+public class JobEventBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobEventBroadcaster.class);
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final BlockingQueue<Set<DataWithMediaType>> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean dropped;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        // Never blocks; false when the buffer is full
+        boolean offer(Set<DataWithMediaType> frame) {
+            if (!queue.offer(frame)) {
+                return false;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+            return true;
+        }
+
+        void drop() {
+            dropped = true;
+            subscribers.remove(this);
+            droppedCounter.increment();
+            // Completed by a sender: the emitter may be in the middle of a write
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        void drain() {
+            while (true) {
+                if (dropped) {
+                    queue.clear();
+                    emitter.complete();
+                    return;
+                }
+                Set<DataWithMediaType> frame = queue.poll();
+                if (frame == null) {
+                    draining.set(false);
+                    // An offer between poll and set saw draining still true
+                    if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    emitter.send(frame);
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away; the emitter's completion callback removes the subscriber
+                    subscribers.remove(this);
+                    queue.clear();
+                    return;
+                }
+            }
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    // Frame of event id at ring[id % length]; guarded by publishLock like lastEventId.
+    // Empty with jobs.stream.replay-size=0: every resume gets a reload event.
+    private final List<Set<DataWithMediaType>> ring;
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private long lastEventId;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("job-stream-sender-", 0).factory());
+    private final ScheduledExecutorService heartbeats;
+    private final Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+    private final Counter droppedCounter;
+
+    public JobEventBroadcaster(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${jobs.stream.buffer-size:64}") int bufferSize,
+            @Value("${jobs.stream.replay-size:1024}") int replaySize,
+            @Value("${jobs.stream.heartbeat:15s}") Duration heartbeatInterval,
+            @Value("${jobs.stream.timeout:30m}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        if (replaySize < 0) {
+            throw new IllegalArgumentException("jobs.stream.replay-size must not be negative, got " + replaySize);
+        }
+        this.ring = new ArrayList<>(Collections.nCopies(replaySize, null));
+
+        Gauge.builder("jobs.stream.subscribers", subscribers, Set::size)
+                .description("Open job event streams").register(meterRegistry);
+        this.droppedCounter = Counter.builder("jobs.stream.dropped")
+                .description("Subscribers disconnected because their buffer was full").register(meterRegistry);
+
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Keeps proxies from closing idle streams and finds clients that went away
+        this.heartbeats.scheduleWithFixedDelay(() -> subscribers.forEach(s -> s.offer(heartbeat)),
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // A new stream, first replaying the events after resumeFrom (the client's Last-Event-ID, or null).
+    // A negative resumeFrom, as for a Last-Event-ID that is not a number, gets a reload event.
+    public SseEmitter subscribe(Long resumeFrom) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Replay and registration under the publish lock, so no event is missed or sent twice
+        publishLock.lock();
+        try {
+            // Ids start over at 1 after a restart, so an id ahead of ours also means reload
+            if (resumeFrom != null && resumeFrom != lastEventId) {
+                long missed = lastEventId - resumeFrom;
+                if (resumeFrom < 0 || missed < 0 || missed > ring.size() || missed > bufferSize) {
+                    subscriber.offer(frame(lastEventId, "reload", Map.of()));
+                } else {
+                    for (long id = resumeFrom + 1; id <= lastEventId; id++) {
+                        subscriber.offer(ring.get((int) (id % ring.size())));
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        } finally {
+            publishLock.unlock();
+        }
+        return emitter;
+    }
+
+    public void onJobCreated(Job job) {
+        publish("created", JobSummary.of(job));
+    }
+
+    public void onJobUpdated(Job job) {
+        publish("updated", JobSummary.of(job));
+    }
+
+    public void onJobDeleted(Long id) {
+        publish("deleted", Map.of("id", id));
+    }
+
+    public void onJobsImported() {
+        publish("reload", Map.of());
+    }
+
+    private void publish(String type, Object payload) {
+        publishLock.lock();
+        try {
+            long id = ++lastEventId;
+            Set<DataWithMediaType> frame = frame(id, type, payload);
+            if (!ring.isEmpty()) {
+                ring.set((int) (id % ring.size()), frame);
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.offer(frame)) {
+                    logger.debug("Dropping a job stream subscriber that fell {} events behind", bufferSize);
+                    subscriber.drop();
+                }
+            }
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private Set<DataWithMediaType> frame(long id, String type, Object payload) {
+        try {
+            return SseEmitter.event()
+                    .id(Long.toString(id))
+                    .name(type)
+                    .data(objectMapper.writeValueAsString(payload), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Serializing a job event failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(Subscriber::drop);
+        senders.shutdown();
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.jobportal.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+
+// Full-catalog export that never materializes entities: rows come from a server-side JDBC cursor
+// (a fetch size inside a read-only transaction) and are written to the output as they are read.
+// Memory use is one fetch batch whatever the table size.
+@Service
+@Timed("jobs.export")
+public class JobExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final String SELECT_SQL =
+            "SELECT id, title, description, company, location, latitude, longitude, version, updated_at FROM jobs ORDER BY id";
+    private static final String CSV_HEADER = "id,title,description,company,location,latitude,longitude,version,updated_at\n";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public JobExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper, @Value("${jobs.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    // Writes every job to out and returns the number of rows. The output is flushed after each
+    // fetch batch, so rows reach the client while the cursor is still open.
+    public long export(Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        JsonGenerator generator = null;
+        if (format == Format.NDJSON) {
+            // Each row ends with its own newline instead of the default space between root values
+            generator = objectMapper.getFactory().createGenerator(writer).setRootValueSeparator(null);
+        } else {
+            writer.write(CSV_HEADER);
+        }
+        JsonGenerator json = generator;
+        long[] count = new long[1];
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(SELECT_SQL, rs -> {
+                try {
+                    if (json != null) {
+                        writeJson(json, rs);
+                    } else {
+                        writeCsv(writer, rs);
+                    }
+                    if (++count[0] % fetchSize == 0) {
+                        (json != null ? json : writer).flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (generator != null) {
+            generator.flush();
+        }
+        writer.flush();
+        return count[0];
+    }
+
+    private static void writeJson(JsonGenerator generator, ResultSet rs) throws IOException, SQLException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", rs.getLong(1));
+        generator.writeStringField("title", rs.getString(2));
+        generator.writeStringField("description", rs.getString(3));
+        generator.writeStringField("company", rs.getString(4));
+        generator.writeStringField("location", rs.getString(5));
+        writeCoordinateField(generator, "latitude", coordinate(rs, 6));
+        writeCoordinateField(generator, "longitude", coordinate(rs, 7));
+        generator.writeNumberField("version", rs.getLong(8));
+        generator.writeStringField("updatedAt", timestamp(rs));
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static void writeCsv(Writer writer, ResultSet rs) throws IOException, SQLException {
+        writer.write(Long.toString(rs.getLong(1)));
+        for (int column = 2; column <= 5; column++) {
+            writer.write(',');
+            writeCsvField(writer, rs.getString(column));
+        }
+        for (int column = 6; column <= 7; column++) {
+            writer.write(',');
+            Double coordinate = coordinate(rs, column);
+            if (coordinate != null) {
+                writer.write(coordinate.toString());
+            }
+        }
+        writer.write(',');
+        writer.write(Long.toString(rs.getLong(8)));
+        writer.write(',');
+        String updatedAt = timestamp(rs);
+        if (updatedAt != null) {
+            writer.write(updatedAt);
+        }
+        writer.write('\n');
+    }
+
+    private static void writeCoordinateField(JsonGenerator generator, String name, Double value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeNumberField(name, value);
+        }
+    }
+
+    // Quoted only when needed (RFC 4180); null and empty both come out as an empty field
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    // Jobs without a geocoded location have null coordinates
+    private static Double coordinate(ResultSet rs, int column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static String timestamp(ResultSet rs) throws SQLException {
+        OffsetDateTime updatedAt = rs.getObject(9, OffsetDateTime.class);
+        return updatedAt == null ? null : updatedAt.toInstant().toString();
+    }
+}
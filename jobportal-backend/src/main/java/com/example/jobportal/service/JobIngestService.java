@@ -0,0 +1,137 @@
+package com.example.jobportal.service;
+
+import com.example.jobportal.geo.Gazetteer;
+import com.example.jobportal.ingest.IngestResult;
+import com.example.jobportal.ingest.InvalidRecordException;
+import com.example.jobportal.ingest.JobBatchWriter;
+import com.example.jobportal.ingest.JobRecordReader;
+import com.example.jobportal.model.Job;
+import com.example.jobportal.repository.JobRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Bulk load of jobs from a streamed NDJSON or CSV body. Records are parsed one at a time and
+// written in batches of jobs.ingest.batch-size, each batch committed on its own. A batch the
+// database rejects is retried row by row so one bad record does not cost the others; unparseable
+// and rejected records are reported in the result instead of failing the load.
+@Service
+@Timed("jobs.ingest")
+public class JobIngestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobIngestService.class);
+
+    private final DataSource dataSource;
+    private final JobRepository jobRepository;
+    private final JobService jobService;
+    private final Gazetteer gazetteer;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public JobIngestService(DataSource dataSource, JobRepository jobRepository, JobService jobService,
+            Gazetteer gazetteer, ObjectMapper objectMapper,
+            @Value("${jobs.ingest.batch-size:5000}") int batchSize,
+            @Value("${jobs.ingest.max-errors:100}") int maxErrors) {
+        this.dataSource = dataSource;
+        this.jobRepository = jobRepository;
+        this.jobService = jobService;
+        this.gazetteer = gazetteer;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(batchSize, 1);
+        this.maxErrors = maxErrors;
+    }
+
+    public IngestResult ingest(InputStream body, MediaType contentType) throws IOException {
+        JobRecordReader reader = JobRecordReader.forContentType(contentType, body, objectMapper);
+        IngestResult result = new IngestResult(maxErrors);
+        long started = System.nanoTime();
+        // New rows get IDENTITY ids above this one, which is how they are found again for the indexes
+        long lastIdBefore = jobRepository.findMaxId();
+
+        List<Job> batch = new ArrayList<>(batchSize);
+        long[] recordNumbers = new long[batchSize];
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            JobBatchWriter writer = new JobBatchWriter(connection);
+            while (true) {
+                Job job;
+                try {
+                    job = reader.next();
+                } catch (InvalidRecordException e) {
+                    result.reject(e.getRecordNumber(), e.getMessage());
+                    continue;
+                }
+                if (job == null) {
+                    break;
+                }
+                gazetteer.geocode(job);
+                recordNumbers[batch.size()] = reader.recordNumber();
+                batch.add(job);
+                if (batch.size() == batchSize) {
+                    flush(connection, writer, batch, recordNumbers, result);
+                    batch.clear();
+                }
+            }
+            flush(connection, writer, batch, recordNumbers, result);
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Bulk job load failed", e);
+        } finally {
+            if (result.getInserted() > 0) {
+                jobService.onJobsImported(lastIdBefore);
+            }
+        }
+
+        result.setElapsedMs((System.nanoTime() - started) / 1_000_000);
+        logger.info("Bulk load inserted {} jobs, rejected {}, in {} ms", result.getInserted(), result.getFailed(),
+                result.getElapsedMs());
+        return result;
+    }
+
+    private void flush(Connection connection, JobBatchWriter writer, List<Job> batch, long[] recordNumbers,
+            IngestResult result) throws SQLException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            writer.write(batch);
+            connection.commit();
+            result.inserted(batch.size());
+            return;
+        } catch (SQLException e) {
+            connection.rollback();
+            logger.debug("Batch of {} jobs rejected, retrying row by row: {}", batch.size(), e.getMessage());
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                writer.write(List.of(batch.get(i)));
+                connection.commit();
+                result.inserted(1);
+            } catch (SQLException e) {
+                connection.rollback();
+                result.reject(recordNumbers[i], firstLine(e.getMessage()));
+            }
+        }
+    }
+
+    private static String firstLine(String message) {
+        if (message == null) {
+            return "Rejected by the database";
+        }
+        int end = message.indexOf('\n');
+        return end < 0 ? message : message.substring(0, end);
+    }
+}
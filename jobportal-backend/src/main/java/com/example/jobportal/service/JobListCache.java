@@ -0,0 +1,154 @@
+package com.example.jobportal.service;
+
+import com.example.jobportal.datasource.ReplicaRoutingDataSource;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// Serialized and gzip-compressed GET /api/jobs bodies, one per format, kept until the catalog ETag
+// changes. A hot, unchanged list is then neither queried, serialized nor compressed again.
+// Bodies above jobs.list-cache.max-size are built for the request only and not kept. The list is read
+// from the primary: a lagging replica would store an old list under the current catalog ETag.
+@Component
+public class JobListCache {
+
+    public enum Format {
+        JSON(MediaType.APPLICATION_JSON, ""),
+        CBOR(MediaType.APPLICATION_CBOR, "-cbor"),
+        SMILE(new MediaType("application", "x-jackson-smile"), "-smile");
+
+        private final MediaType mediaType;
+        private final String eTagSuffix;
+
+        Format(MediaType mediaType, String eTagSuffix) {
+            this.mediaType = mediaType;
+            this.eTagSuffix = eTagSuffix;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        // Representations differ per format, so their ETags do too
+        public String eTag(String catalogETag) {
+            return catalogETag + eTagSuffix;
+        }
+
+        // First format the client accepts, in order of its q-values; null when it accepts none
+        public static Format negotiate(List<MediaType> accepted) {
+            if (accepted.isEmpty()) {
+                return JSON;
+            }
+            List<MediaType> byQuality = accepted.stream()
+                    .sorted((a, b) -> Double.compare(b.getQualityValue(), a.getQualityValue()))
+                    .toList();
+            for (MediaType type : byQuality) {
+                if (type.getQualityValue() == 0) {
+                    break;
+                }
+                for (Format format : values()) {
+                    if (type.includes(format.mediaType)) {
+                        return format;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    // gzip is null when the body is too small to be worth compressing
+    public record Body(String eTag, byte[] identity, byte[] gzip) {
+    }
+
+    private static final int MIN_GZIP_SIZE = 2048;
+
+    private final JobService jobService;
+    private final Map<Format, ObjectWriter> writers = new EnumMap<>(Format.class);
+    private final long maxSize;
+    private final Map<Format, Body> bodies = new ConcurrentHashMap<>();
+    private final Map<Format, ReentrantLock> buildLocks = new EnumMap<>(Format.class);
+
+    public JobListCache(JobService jobService, ObjectMapper objectMapper,
+            MappingJackson2CborHttpMessageConverter cborConverter,
+            MappingJackson2SmileHttpMessageConverter smileConverter,
+            @Value("${jobs.list-cache.max-size:32MB}") DataSize maxSize) {
+        this.jobService = jobService;
+        this.writers.put(Format.JSON, objectMapper.writer());
+        this.writers.put(Format.CBOR, cborConverter.getObjectMapper().writer());
+        this.writers.put(Format.SMILE, smileConverter.getObjectMapper().writer());
+        this.maxSize = maxSize.toBytes();
+        for (Format format : Format.values()) {
+            buildLocks.put(format, new ReentrantLock());
+        }
+    }
+
+    // The list as of catalogETag, read before the data like the controller's conditional check.
+    // Concurrent requests for a stale format wait on that format's lock for one rebuild instead of
+    // each running it. The query, serialization and gzip run outside the map: ConcurrentHashMap.compute
+    // would hold its bin lock throughout, blocking readers and pinning virtual threads to their carriers.
+    public Body get(Format format, String catalogETag) {
+        Body cached = bodies.get(format);
+        if (cached != null && cached.eTag().equals(catalogETag)) {
+            return cached;
+        }
+        ReentrantLock lock = buildLocks.get(format);
+        lock.lock();
+        try {
+            cached = bodies.get(format);
+            if (cached != null && cached.eTag().equals(catalogETag)) {
+                return cached;
+            }
+            Body built = build(format, catalogETag);
+            if (built.identity().length > maxSize) {
+                bodies.remove(format);
+            } else {
+                bodies.put(format, built);
+            }
+            return built;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Body build(Format format, String catalogETag) {
+        byte[] identity;
+        try {
+            identity = writers.get(format).writeValueAsBytes(ReplicaRoutingDataSource.onPrimary(jobService::getAllJobs));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Serializing the job list failed", e);
+        }
+        return new Body(catalogETag, identity, identity.length >= MIN_GZIP_SIZE ? gzip(identity) : null);
+    }
+
+    // Compressed once per catalog version, so the slowest level is affordable
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -1,53 +1,248 @@
 package com.example.jobportal.service;
 
+import com.example.jobportal.geo.Gazetteer;
+import com.example.jobportal.geo.GeoIndex;
+import com.example.jobportal.geo.GeoJobIndex;
+import com.example.jobportal.geo.GeoPoint;
 import com.example.jobportal.model.Job;
+import com.example.jobportal.model.JobSummary;
+import com.example.jobportal.model.NearbyJob;
+import com.example.jobportal.model.ScoredJob;
 import com.example.jobportal.repository.JobRepository;
+import com.example.jobportal.search.JobRanking;
+import com.example.jobportal.search.JobSearchEngine;
+import com.example.jobportal.search.ScoredJobRow;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed("jobs.service")
 public class JobService {
 
+    private static final int NEAR_FETCH_BATCH_SIZE = 1000;
+
     private final JobRepository jobRepository;
+    private final JobSearchEngine searchEngine;
+    private final JobRanking ranking;
+    private final GeoJobIndex geoIndex;
+    private final Gazetteer gazetteer;
+    private final JobVersionRegistry jobVersions;
+    private final JobEventBroadcaster jobEvents;
+    private final JobAlertService jobAlerts;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public JobService(JobRepository jobRepository) {
+    public JobService(JobRepository jobRepository, JobSearchEngine searchEngine, JobRanking ranking, GeoJobIndex geoIndex,
+            Gazetteer gazetteer, JobVersionRegistry jobVersions,
+            JobEventBroadcaster jobEvents, JobAlertService jobAlerts,
+            @Value("${jobs.page.default-size:50}") int defaultPageSize,
+            @Value("${jobs.page.max-size:500}") int maxPageSize) {
         this.jobRepository = jobRepository;
+        this.searchEngine = searchEngine;
+        this.ranking = ranking;
+        this.geoIndex = geoIndex;
+        this.gazetteer = gazetteer;
+        this.jobVersions = jobVersions;
+        this.jobEvents = jobEvents;
+        this.jobAlerts = jobAlerts;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Transactional(readOnly = true)
+    public List<JobSummary> getAllJobs() {
+        return jobRepository.findAllSummaries();
+    }
+
+    public int resolvePageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
     }
 
-    public List<Job> getAllJobs() {
-        return jobRepository.findAll();
+    // Hands each job of the page to the sink as soon as it is read. Returns the cursor of the next
+    // page, or null when this was the last one.
+    @Transactional(readOnly = true)
+    public String streamJobsPage(String cursor, int size, Consumer<JobSummary> sink) {
+        long lastId = JobCursor.decode(cursor);
+        int count = 0;
+        try (Stream<JobSummary> jobs = jobRepository.streamSummariesByIdAfter(lastId, Limit.of(size))) {
+            for (JobSummary job : (Iterable<JobSummary>) jobs::iterator) {
+                sink.accept(job);
+                lastId = job.id();
+                count++;
+            }
+        }
+        return count == size ? JobCursor.encode(lastId) : null;
     }
 
+    @Transactional(readOnly = true)
     public Optional<Job> getJobById(Long id) {
-        return jobRepository.findById(id);
+        Optional<Job> job = jobRepository.findWithDescriptionById(id);
+        job.ifPresent(jobVersions::record);
+        return job;
     }
 
     public Job createJob(Job job) {
-        return jobRepository.save(job);
+        gazetteer.geocode(job);
+        Job saved = jobRepository.save(job);
+        searchEngine.onJobSaved(saved);
+        ranking.onJobSaved(saved);
+        geoIndex.onJobSaved(saved);
+        jobVersions.onJobSaved(saved);
+        jobEvents.onJobCreated(saved);
+        jobAlerts.onJobSaved(saved);
+        return saved;
+    }
+
+    // Replaces all fields in one UPDATE; same version rules as patchJob. Coordinates sent with the
+    // job are kept, otherwise they are geocoded from the location.
+    public Job updateJob(Long id, Job updatedJob, Long expectedVersion) {
+        gazetteer.geocode(updatedJob);
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("title", updatedJob.getTitle());
+        fields.put("description", updatedJob.getDescription());
+        fields.put("company", updatedJob.getCompany());
+        fields.put("location", updatedJob.getLocation());
+        fields.put("latitude", updatedJob.getLatitude());
+        fields.put("longitude", updatedJob.getLongitude());
+        return update(id, fields, expectedVersion).orElse(null);
+    }
+
+    // Sets only the given fields, in one UPDATE. With an expectedVersion the update applies only to
+    // that version of the job, and a job that has moved on raises OptimisticLockingFailureException.
+    // Empty when the job does not exist. The returned job carries the description only if it was set.
+    // A new location is geocoded in the same UPDATE.
+    public Optional<Job> patchJob(Long id, Map<String, String> fields, Long expectedVersion) {
+        Map<String, Object> columns = new LinkedHashMap<>(fields);
+        if (fields.containsKey("location")) {
+            GeoPoint point = gazetteer.locate(fields.get("location"));
+            columns.put("latitude", point != null ? point.latitude() : null);
+            columns.put("longitude", point != null ? point.longitude() : null);
+        }
+        return update(id, columns, expectedVersion);
     }
 
-    public Job updateJob(Long id, Job updatedJob) {
-        return jobRepository.findById(id)
-                .map(job -> {
-                    job.setTitle(updatedJob.getTitle());
-                    job.setDescription(updatedJob.getDescription());
-                    job.setCompany(updatedJob.getCompany());
-                    job.setLocation(updatedJob.getLocation());
-                    return jobRepository.save(job);
-                })
-                .orElse(null); // Or throw an exception, depending on desired behavior
+    private Optional<Job> update(Long id, Map<String, Object> fields, Long expectedVersion) {
+        Optional<Job> patched = jobRepository.updateFields(id, fields, expectedVersion);
+        if (patched.isEmpty()) {
+            if (expectedVersion != null && jobRepository.existsById(id)) {
+                throw new OptimisticLockingFailureException("Job " + id + " is no longer at version " + expectedVersion);
+            }
+            return patched;
+        }
+        patched.get().setDescription((String) fields.get("description"));
+        searchEngine.onJobSaved(patched.get());
+        ranking.onJobSaved(patched.get());
+        geoIndex.onJobSaved(patched.get());
+        jobVersions.onJobSaved(patched.get());
+        jobEvents.onJobUpdated(patched.get());
+        jobAlerts.onJobSaved(patched.get());
+        return patched;
     }
 
     public void deleteJob(Long id) {
         jobRepository.deleteById(id);
+        searchEngine.onJobDeleted(id);
+        ranking.onJobDeleted(id);
+        geoIndex.onJobDeleted(id);
+        jobVersions.onJobDeleted(id);
+        jobEvents.onJobDeleted(id);
+    }
+
+    // Brings the search, ranking and geo indexes, version registry and alerts up to date with jobs inserted behind JPA's back
+    // (bulk loads); they are the rows with ids above afterId.
+    @Transactional(readOnly = true)
+    public void onJobsImported(long afterId) {
+        try (Stream<Job> jobs = jobRepository.streamByIdAfter(afterId, Limit.unlimited())) {
+            for (Job job : (Iterable<Job>) jobs::iterator) {
+                searchEngine.onJobSaved(job);
+                geoIndex.onJobSaved(job);
+                jobVersions.record(job);
+                jobAlerts.onJobSaved(job);
+                entityManager.detach(job);
+            }
+        }
+        ranking.onJobsImported(afterId);
+        jobVersions.onJobsImported();
+        jobEvents.onJobsImported();
+    }
+
+    @Transactional(readOnly = true)
+    public List<JobSummary> searchJobs(String title, String location) {
+        // Both engines handle null/empty parameters the same way as the custom query in JobRepository
+        return searchEngine.search(title, location);
+    }
+
+    // Jobs within radiusKm of the point, nearest first, optionally also matching title/location like
+    // searchJobs (case-insensitive substrings). Hits are read in distance order until size match.
+    @Transactional(readOnly = true)
+    public List<NearbyJob> searchNear(double latitude, double longitude, double radiusKm, String title,
+            String location, Integer size) {
+        int limit = resolvePageSize(size);
+        String titleQuery = title == null || title.isEmpty() ? null : title.toLowerCase(Locale.ROOT);
+        String locationQuery = location == null || location.isEmpty() ? null : location.toLowerCase(Locale.ROOT);
+        boolean filtered = titleQuery != null || locationQuery != null;
+        List<GeoIndex.Hit> hits = geoIndex.near(latitude, longitude, radiusKm, filtered ? 0 : limit);
+
+        List<NearbyJob> jobs = new ArrayList<>(Math.min(limit, hits.size()));
+        for (int from = 0; from < hits.size() && jobs.size() < limit; from += NEAR_FETCH_BATCH_SIZE) {
+            List<GeoIndex.Hit> batch = hits.subList(from, Math.min(hits.size(), from + NEAR_FETCH_BATCH_SIZE));
+            Map<Long, JobSummary> summaries = new HashMap<>();
+            for (JobSummary summary : jobRepository.findSummariesByIdIn(batch.stream().map(GeoIndex.Hit::id).toList())) {
+                summaries.put(summary.id(), summary);
+            }
+            for (GeoIndex.Hit hit : batch) {
+                JobSummary summary = summaries.get(hit.id());
+                if (summary != null && contains(summary.title(), titleQuery) && contains(summary.location(), locationQuery)) {
+                    jobs.add(NearbyJob.of(summary, hit.distanceKm()));
+                    if (jobs.size() == limit) {
+                        break;
+                    }
+                }
+            }
+        }
+        return jobs;
+    }
+
+    private static boolean contains(String value, String query) {
+        return query == null || (value != null && value.toLowerCase(Locale.ROOT).contains(query));
     }
 
-    public List<Job> searchJobs(String title, String location) {
-        // The custom query in JobRepository handles null/empty parameters gracefully
-        return jobRepository.searchJobsByTitleAndLocation(title, location);
+    // Ranked and paginated search, each job with its score. A free-text query searches title, company
+    // and description with the jobs.search.ranking strategy; otherwise title/location are matched like
+    // searchJobs, ordered by trigram similarity in PostgreSQL.
+    @Transactional(readOnly = true)
+    public Page<ScoredJob> searchJobsRanked(String query, String title, String location, int page, Integer size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), resolvePageSize(size));
+        if (query != null && !query.isBlank()) {
+            return ranking.search(query, pageRequest);
+        }
+        return jobRepository.searchJobsByTitleAndLocationRanked(title == null ? "" : title,
+                location == null ? "" : location, pageRequest).map(ScoredJobRow::toScoredJob);
     }
 }
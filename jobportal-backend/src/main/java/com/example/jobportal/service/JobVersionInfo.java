@@ -0,0 +1,10 @@
+package com.example.jobportal.service;
+
+import java.time.Instant;
+
+// Projection of the columns JobVersionRegistry needs, read without loading whole jobs
+public interface JobVersionInfo {
+    Long getId();
+    Long getVersion();
+    Instant getUpdatedAt();
+}
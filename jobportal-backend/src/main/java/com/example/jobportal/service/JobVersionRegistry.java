@@ -0,0 +1,138 @@
+package com.example.jobportal.service;
+
+import com.example.jobportal.model.Job;
+import com.example.jobportal.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// In-memory copy of every job's version and last modification, plus a catalog-wide counter that
+// changes with every create/update/delete. Lets the controller answer If-None-Match with 304
+// without going to the database. Jobs not known yet (before the startup load finishes) are
+// recorded on their first read. Jobs deleted while the load streams rows are dropped again at its
+// end, so a row read before the delete does not bring the job back.
+@Component
+public class JobVersionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobVersionRegistry.class);
+
+    public record JobVersion(long version, long lastModified) {
+
+        public String eTag(long id) {
+            return id + "-" + version;
+        }
+    }
+
+    private final JobRepository jobRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<Long, JobVersion> versions = new ConcurrentHashMap<>();
+    private final long startedAt = System.currentTimeMillis();
+    // The counter restarts with the process, the epoch keeps ETags from earlier runs from matching
+    private final String epoch = Long.toString(startedAt, 36);
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private volatile long catalogLastModified = startedAt;
+    // Ids deleted since the load started; null outside the load
+    private volatile Set<Long> deletedDuringLoad;
+
+    public JobVersionRegistry(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+        this.jobRepository = jobRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.nanoTime();
+        deletedDuringLoad = ConcurrentHashMap.newKeySet();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<JobVersionInfo> rows = jobRepository.streamVersions()) {
+                    rows.forEach(row -> record(row.getId(), row.getVersion(), row.getUpdatedAt()));
+                }
+            });
+            dropDeletedDuringLoad();
+            logger.info("Loaded versions of {} jobs in {} ms", versions.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            dropDeletedDuringLoad();
+            logger.error("Loading job versions failed, they are recorded as jobs are read", e);
+        }
+    }
+
+    // A delete that raced with the end of the load removes its id itself after adding the tombstone
+    private void dropDeletedDuringLoad() {
+        Set<Long> deleted = deletedDuringLoad;
+        deletedDuringLoad = null;
+        deleted.forEach(versions::remove);
+    }
+
+    public JobVersion get(Long id) {
+        return versions.get(id);
+    }
+
+    public String catalogETag() {
+        return epoch + "-" + catalogVersion.get();
+    }
+
+    public long catalogLastModified() {
+        return catalogLastModified;
+    }
+
+    // Version of exactly this representation of the job, for the response headers
+    public JobVersion versionOf(Job job) {
+        return versionOf(job.getVersion(), job.getUpdatedAt());
+    }
+
+    // A job read from the database; does not change the catalog
+    public JobVersion record(Job job) {
+        return record(job.getId(), job.getVersion(), job.getUpdatedAt());
+    }
+
+    public JobVersion onJobSaved(Job job) {
+        JobVersion version = record(job);
+        bumpCatalog();
+        return version;
+    }
+
+    // Rows added in bulk, each one already passed to record()
+    public void onJobsImported() {
+        bumpCatalog();
+    }
+
+    public void onJobDeleted(Long id) {
+        Set<Long> deleted = deletedDuringLoad;
+        if (deleted != null) {
+            deleted.add(id);
+        }
+        versions.remove(id);
+        bumpCatalog();
+    }
+
+    // Keeps the newest version when a write races with the startup load
+    private JobVersion record(Long id, Long version, Instant updatedAt) {
+        return versions.merge(id, versionOf(version, updatedAt),
+                (current, next) -> next.version() >= current.version() ? next : current);
+    }
+
+    private JobVersion versionOf(Long version, Instant updatedAt) {
+        return new JobVersion(version == null ? 0 : version,
+                // Rows written before updated_at existed count as modified at startup
+                updatedAt == null ? startedAt : updatedAt.toEpochMilli());
+    }
+
+    private void bumpCatalog() {
+        catalogLastModified = System.currentTimeMillis();
+        catalogVersion.incrementAndGet();
+    }
+}
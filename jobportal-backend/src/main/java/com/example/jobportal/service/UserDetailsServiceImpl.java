@@ -2,54 +2,73 @@ package com.example.jobportal.service;
 
 import com.example.jobportal.model.User;
 import com.example.jobportal.repository.UserRepository;
+import com.example.jobportal.security.PasswordHasher;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
+@Timed("auth.users")
 public class UserDetailsServiceImpl implements UserDetailsService {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserDetailsServiceImpl.class);
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final Executor saveExecutor;
+    // Compared against for unknown emails; made once here, not by the first requests on their own threads
+    private final String unknownUserHash;
 
     @Autowired
-    public UserDetailsServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserDetailsServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+            PasswordHasher passwordHasher, @Qualifier("applicationTaskExecutor") Executor saveExecutor) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
+        this.saveExecutor = saveExecutor;
+        this.unknownUserHash = passwordEncoder.encode("unknown-user-password");
     }
 
     // No longer need a print method as users are in DB
 
-    public void registerUser(User user) {
+    // The password is hashed on the PasswordHasher pool; throws RejectedExecutionException when it is saturated.
+    // The user is saved on the application task executor, so hashing threads never wait on the database
+    public CompletableFuture<User> registerUser(User user) {
         if (userRepository.existsByEmail(user.getEmail())) {
             throw new RuntimeException("User with email " + user.getEmail() + " already exists.");
         }
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        user.setRole(user.getRole() != null ? user.getRole() : "USER"); // Default role
-        // Ensure firstName and lastName are set before saving
-        userRepository.save(user);
-        System.out.println("User registered in database: " + user.getEmail());
+        return passwordHasher.encode(user.getPassword()).thenApplyAsync(hash -> {
+            user.setPassword(hash);
+            user.setRole(user.getRole() != null ? user.getRole() : "USER"); // Default role
+            // Ensure firstName and lastName are set before saving
+            userRepository.save(user);
+            logger.debug("User registered in database: {}", user.getEmail());
+            return user;
+        }, saveExecutor);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        System.out.println("=== LOADING USER BY EMAIL ===");
-        System.out.println("Email: " + email);
-
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> {
-                    System.out.println("User not found with email: " + email);
+                    logger.debug("User not found with email: {}", email);
                     return new UsernameNotFoundException("User not found with email: " + email);
                 });
 
-        System.out.println("User found: " + user.getEmail());
-        System.out.println("User role: " + user.getRole());
-        System.out.println("Password encoded: " + (user.getPassword() != null && !user.getPassword().isEmpty()));
+        logger.debug("User loaded: {} (role {})", user.getEmail(), user.getRole());
 
         return new org.springframework.security.core.userdetails.User(
                 user.getEmail(),
@@ -57,6 +76,50 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole())));
     }
 
+    // Login in a single lookup: loads the user once and checks the password against that row on the
+    // PasswordHasher pool. Completes empty for an unknown email or a wrong password. A hash created with
+    // an older encoder id or a lower cost is replaced after a successful check.
+    // Only the lookup runs in the read-only transaction; a hash upgrade is saved later on its own
+    @Transactional(readOnly = true)
+    public CompletableFuture<Optional<User>> authenticate(String email, String rawPassword) {
+        Optional<User> user = email == null ? Optional.empty() : userRepository.findByEmail(email);
+        String presented = rawPassword == null ? "" : rawPassword;
+        if (user.isEmpty()) {
+            // Spend the same hashing time as for a known user so response times do not reveal which emails exist
+            return passwordHasher.matches(presented, unknownUserHash).thenApply(ignored -> Optional.empty());
+        }
+        String stored = user.get().getPassword();
+        if (stored == null) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return passwordHasher.matches(presented, stored).thenApply(matches -> {
+            if (!matches) {
+                return Optional.empty();
+            }
+            if (passwordHasher.upgradeEncoding(stored)) {
+                upgradePassword(user.get(), presented);
+            }
+            return user;
+        });
+    }
+
+    private void upgradePassword(User user, String rawPassword) {
+        try {
+            passwordHasher.encode(rawPassword)
+                    .thenAcceptAsync(hash -> {
+                        user.setPassword(hash);
+                        userRepository.save(user);
+                        logger.debug("Password hash upgraded for: {}", user.getEmail());
+                    }, saveExecutor)
+                    .exceptionally(e -> {
+                        logger.warn("Password hash upgrade failed for {}: {}", user.getEmail(), e.getMessage());
+                        return null;
+                    });
+        } catch (RejectedExecutionException e) {
+            // Hashing pool is busy; the hash is upgraded on a later login
+        }
+    }
+
     // New method to find a User by email, returning an Optional<User>
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
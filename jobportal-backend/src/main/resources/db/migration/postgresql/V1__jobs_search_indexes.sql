@@ -0,0 +1,26 @@
+-- Full-text and trigram search support for jobs.
+-- Hibernate (ddl-auto=update) keeps managing the mapped columns; it does not create generated
+-- columns, extensions or expression/GIN indexes, so those live here. The table is created up front
+-- because Flyway runs before Hibernate on an empty database.
+CREATE TABLE IF NOT EXISTS jobs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    company VARCHAR(255),
+    description VARCHAR(255),
+    location VARCHAR(255),
+    title VARCHAR(255)
+);
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(company, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_jobs_search_vector ON jobs USING GIN (search_vector);
+
+-- Expression indexes matching LOWER(col) LIKE '%...%', used by the ranked search and the legacy query alike
+CREATE INDEX IF NOT EXISTS idx_jobs_title_trgm ON jobs USING GIN (lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_jobs_location_trgm ON jobs USING GIN (lower(location) gin_trgm_ops);
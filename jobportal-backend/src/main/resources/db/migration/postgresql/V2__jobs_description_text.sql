@@ -0,0 +1,16 @@
+-- Job descriptions become unbounded text. search_vector is generated from description and PostgreSQL
+-- cannot change the type of a column a generated column depends on, so the vector and its index are
+-- dropped and recreated around the change (this rewrites the table once).
+DROP INDEX IF EXISTS idx_jobs_search_vector;
+ALTER TABLE jobs DROP COLUMN IF EXISTS search_vector;
+
+ALTER TABLE jobs ALTER COLUMN description TYPE text;
+
+ALTER TABLE jobs ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(company, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'C')
+    ) STORED;
+
+CREATE INDEX idx_jobs_search_vector ON jobs USING GIN (search_vector);
@@ -0,0 +1,85 @@
+package com.example.jobportal.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Conditional GET /api/jobs/{id}: 304 for the current ETag (answered from JobVersionRegistry),
+// 404 once the job is deleted, never a 304 for a job that no longer exists. The job list has one
+// ETag per encoding and answers a malformed Accept with 406.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JobETagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void conditionalGetAnswers304UntilTheJobIsDeleted() throws Exception {
+        String created = mockMvc.perform(post("/api/jobs").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Backend Engineer\",\"company\":\"Acme\",\"location\":\"Pune\","
+                                + "\"description\":\"Java and PostgreSQL\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode job = objectMapper.readTree(created);
+        long id = job.get("id").asLong();
+
+        String eTag = mockMvc.perform(get("/api/jobs/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/jobs/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(delete("/api/jobs/{id}", id))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/jobs/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void gzipAndIdentityListsHaveTheirOwnETags() throws Exception {
+        String gzipETag = mockMvc.perform(get("/api/jobs").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(containsString(HttpHeaders.ACCEPT_ENCODING))))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String identityETag = mockMvc.perform(get("/api/jobs"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(identityETag, gzipETag);
+
+        mockMvc.perform(get("/api/jobs").header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, gzipETag))
+                .andExpect(status().isNotModified());
+        // A gzip copy is not a valid cached copy for a client that cannot decode it
+        mockMvc.perform(get("/api/jobs").header(HttpHeaders.IF_NONE_MATCH, gzipETag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void malformedAcceptIsNotAcceptable() throws Exception {
+        mockMvc.perform(get("/api/jobs").header(HttpHeaders.ACCEPT, "application/json;q=\"broken"))
+                .andExpect(status().isNotAcceptable());
+    }
+}
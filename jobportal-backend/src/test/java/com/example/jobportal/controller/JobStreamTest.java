@@ -0,0 +1,48 @@
+package com.example.jobportal.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// GET /api/jobs/stream with a Last-Event-ID that was never sent (not a number, or negative): the
+// stream opens and starts with a reload event instead of replaying from a made-up position
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JobStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void unparseableLastEventIdGetsAReload() throws Exception {
+        assertStartsWithReload("not-a-number");
+    }
+
+    @Test
+    void negativeLastEventIdGetsAReload() throws Exception {
+        assertStartsWithReload("-5");
+    }
+
+    private void assertStartsWithReload(String lastEventId) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/api/jobs/stream").header("Last-Event-ID", lastEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        assertEquals(200, response.getStatus());
+        // Events are written by a sender thread once the stream is open
+        for (int attempt = 0; attempt < 50 && response.getContentAsString().isEmpty(); attempt++) {
+            Thread.sleep(100);
+        }
+        assertTrue(response.getContentAsString().startsWith("id:") && response.getContentAsString().contains("event:reload"),
+                response.getContentAsString());
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.jobportal.controller;
+
+import com.example.jobportal.model.User;
+import com.example.jobportal.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// A login loads the user once: the request runs a single SQL statement, the SELECT by email.
+// Counted by RequestMonitoringFilter (request.sql.statements), which sees only the request's own
+// statements, not those of the indexes built in the background at startup.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class LoginQueryCountTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void createUser() {
+        if (userRepository.findByEmail("login@example.com").isEmpty()) {
+            userRepository.save(new User("login@example.com", "Login", "Test", passwordEncoder.encode("secret123"), "USER"));
+        }
+    }
+
+    @Test
+    void loginRunsOneSelect() throws InterruptedException {
+        ResponseEntity<Map> response = restTemplate.postForEntity("/api/auth/login",
+                Map.of("email", "login@example.com", "password", "secret123"), Map.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody().get("jwt"));
+        DistributionSummary statements = loginStatements();
+        assertEquals(1, statements.count());
+        assertEquals(1.0, statements.totalAmount());
+    }
+
+    // Async requests are recorded once they complete, which can be just after the client has the response
+    private DistributionSummary loginStatements() throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            DistributionSummary summary = meterRegistry.find("request.sql.statements")
+                    .tags("method", "POST", "uri", "/api/auth/login").summary();
+            if (summary != null && summary.count() > 0) {
+                return summary;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("request.sql.statements was not recorded for the login");
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.jobportal.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Primary and replica are two separate in-memory H2 databases. The replica does not exist while the
+// application starts, so startup reads fall back to the primary; the test then creates it with the
+// primary's schema but none of its rows, and where a read went shows in what it finds.
+@SpringBootTest(properties = {
+        "app.datasource.replicas[0].url=" + ReplicaRoutingTest.REPLICA_URL + ";IFEXISTS=TRUE",
+        "app.datasource.replica-health-check-interval=200ms",
+        "app.datasource.read-your-writes-window=1m" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+            + "DEFAULT_NULL_ORDERING=HIGH";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private HikariDataSource primary;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Keeps the in-memory replica open between tests
+    private static Connection replica;
+
+    @BeforeEach
+    void createReplica() throws Exception {
+        List<String> schema = new JdbcTemplate(primary).queryForList("SCRIPT NODATA", String.class);
+        if (replica == null) {
+            replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+        }
+        try (Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : schema) {
+                statement.execute(sql);
+            }
+        }
+        awaitHealthyReplica();
+    }
+
+    @Test
+    void readOnlyTransactionsRunOnTheReplica() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        transaction.setReadOnly(true);
+        assertEquals("routing-replica", transaction.execute(status -> databaseName(jdbc)));
+        transaction.setReadOnly(false);
+        assertEquals(databaseName(new JdbcTemplate(primary)), transaction.execute(status -> databaseName(jdbc)));
+    }
+
+    @Test
+    void readsAfterAWriteStayOnThePrimary() throws Exception {
+        String created = mockMvc.perform(post("/api/jobs").with(remoteAddr("10.0.0.1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Data Engineer\",\"company\":\"Acme\",\"location\":\"Pune\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(created).get("id").asLong();
+
+        // The writer reads its job from the primary; another client reads the replica, which lacks it
+        mockMvc.perform(get("/api/jobs/{id}", id).with(remoteAddr("10.0.0.1")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/jobs/{id}", id).with(remoteAddr("10.0.0.2")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void streamedPagesKeepTheWritersPin() throws Exception {
+        mockMvc.perform(post("/api/jobs").with(remoteAddr("10.0.0.5"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Site Reliability Engineer\",\"company\":\"Acme\",\"location\":\"Pune\"}"))
+                .andExpect(status().isOk());
+
+        // The page is written on the async executor, after the request thread has left the filter
+        MvcResult page = mockMvc.perform(get("/api/jobs/page").param("size", "1000").with(remoteAddr("10.0.0.5")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(page))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(body.contains("Site Reliability Engineer"), body);
+    }
+
+    @Test
+    void sharedJobListIsReadFromThePrimary() throws Exception {
+        mockMvc.perform(post("/api/jobs").with(remoteAddr("10.0.0.3"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Platform Engineer\",\"company\":\"Acme\",\"location\":\"Pune\"}"))
+                .andExpect(status().isOk());
+
+        // Cached under the new catalog ETag for every client, so it must not come from the replica
+        String list = mockMvc.perform(get("/api/jobs").with(remoteAddr("10.0.0.4")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(list.contains("Platform Engineer"), list);
+    }
+
+    private static String databaseName(JdbcTemplate jdbc) {
+        return jdbc.queryForObject("SELECT DATABASE()", String.class);
+    }
+
+    private static RequestPostProcessor remoteAddr(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+
+    private void awaitHealthyReplica() throws InterruptedException {
+        Gauge healthy = meterRegistry.get("datasource.replica.healthy").gauge();
+        for (int attempt = 0; attempt < 50 && healthy.value() != 1; attempt++) {
+            Thread.sleep(100);
+        }
+        assertEquals(1, healthy.value(), "replica never passed its health check");
+    }
+}
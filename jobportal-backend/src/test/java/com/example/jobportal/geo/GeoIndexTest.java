@@ -0,0 +1,122 @@
+package com.example.jobportal.geo;
+
+import com.example.jobportal.geo.GeoIndex.Hit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// GeoIndex.near against measuring every job with the haversine formula: same ids, distances and
+// order (nearest first, ties by id), for the whole result and for a limited page. Jobs are spread
+// over the globe, crowded around both poles and the antimeridian, and partly share coordinates.
+class GeoIndexTest {
+
+    private static final int JOBS = 20_000;
+    private static final double[] RADII_KM = { 1, 25, 100, 500, 2500 };
+
+    private final Random random = new Random(42);
+    private final GeoIndex index = new GeoIndex();
+    private final double[] latitudes = new double[JOBS];
+    private final double[] longitudes = new double[JOBS];
+
+    @BeforeEach
+    void placeJobs() {
+        for (int id = 0; id < JOBS; id++) {
+            switch (id % 5) {
+                // Anywhere, uniform in latitude and longitude
+                case 0, 1 -> place(id, -90 + random.nextDouble() * 180, -180 + random.nextDouble() * 360);
+                // Within two degrees of a pole
+                case 2 -> place(id, (random.nextBoolean() ? 1 : -1) * (88 + random.nextDouble() * 2),
+                        -180 + random.nextDouble() * 360);
+                // Within a degree of the antimeridian, on either side
+                case 3 -> place(id, -60 + random.nextDouble() * 120,
+                        random.nextBoolean() ? 179 + random.nextDouble() : -180 + random.nextDouble());
+                // On the coordinates of an earlier job, like jobs geocoded to one city centre
+                default -> {
+                    int other = random.nextInt(id);
+                    place(id, latitudes[other], longitudes[other]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void matchesLinearScanAtRandomPoints() {
+        for (int q = 0; q < 200; q++) {
+            assertMatchesScan(-90 + random.nextDouble() * 180, -180 + random.nextDouble() * 360);
+        }
+    }
+
+    @Test
+    void matchesLinearScanAroundThePoles() {
+        assertMatchesScan(90, 0);
+        assertMatchesScan(-90, 0);
+        assertMatchesScan(90, 137.5);
+        for (int q = 0; q < 50; q++) {
+            assertMatchesScan((random.nextBoolean() ? 1 : -1) * (89 + random.nextDouble()),
+                    -180 + random.nextDouble() * 360);
+        }
+    }
+
+    @Test
+    void matchesLinearScanAcrossTheAntimeridian() {
+        assertMatchesScan(0, 180);
+        assertMatchesScan(0, -180);
+        assertMatchesScan(45, 179.99);
+        assertMatchesScan(-45, -179.99);
+        for (int q = 0; q < 50; q++) {
+            assertMatchesScan(-60 + random.nextDouble() * 120, random.nextBoolean() ? 179.5 + random.nextDouble() / 2
+                    : -180 + random.nextDouble() / 2);
+        }
+    }
+
+    @Test
+    void followsMovesAndRemovals() {
+        for (int id = 0; id < JOBS; id += 7) {
+            place(id, -90 + random.nextDouble() * 180, -180 + random.nextDouble() * 360);
+        }
+        for (int id = 3; id < JOBS; id += 11) {
+            index.remove(id);
+            latitudes[id] = Double.NaN;
+        }
+        for (int q = 0; q < 100; q++) {
+            assertMatchesScan(-90 + random.nextDouble() * 180, -180 + random.nextDouble() * 360);
+        }
+    }
+
+    private void place(int id, double latitude, double longitude) {
+        latitudes[id] = latitude;
+        longitudes[id] = longitude;
+        index.put(id, latitude, longitude);
+    }
+
+    private void assertMatchesScan(double latitude, double longitude) {
+        for (double radiusKm : RADII_KM) {
+            List<Hit> expected = scan(latitude, longitude, radiusKm);
+            String query = latitude + "," + longitude + " within " + radiusKm + " km";
+            assertEquals(expected, index.near(latitude, longitude, radiusKm, 0), query);
+            assertEquals(expected.subList(0, Math.min(10, expected.size())), index.near(latitude, longitude, radiusKm, 10),
+                    query + ", first 10");
+        }
+    }
+
+    private List<Hit> scan(double latitude, double longitude, double radiusKm) {
+        List<Hit> hits = new ArrayList<>();
+        for (int id = 0; id < JOBS; id++) {
+            if (Double.isNaN(latitudes[id])) {
+                continue;
+            }
+            double distance = GeoPoint.distanceKm(latitude, longitude, latitudes[id], longitudes[id]);
+            if (distance <= radiusKm) {
+                hits.add(new Hit(id, distance));
+            }
+        }
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm).thenComparingLong(Hit::id));
+        return hits;
+    }
+}
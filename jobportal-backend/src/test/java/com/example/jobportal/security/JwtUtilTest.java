@@ -0,0 +1,41 @@
+package com.example.jobportal.security;
+
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "a-test-secret-that-is-long-enough-for-hs256";
+
+    @Test
+    void isTokenExpiredOnlyReportsAuthenticTokensPastTheirExpiry() {
+        JwtUtil current = jwtUtil(SECRET, 60_000);
+        JwtUtil expired = jwtUtil(SECRET, -60_000);
+
+        assertFalse(current.isTokenExpired(current.generateToken("a@example.com", "ROLE_USER")));
+        assertTrue(current.isTokenExpired(expired.generateToken("a@example.com", "ROLE_USER")));
+
+        String forged = jwtUtil("another-secret-that-is-long-enough-for-hs256", 60_000)
+                .generateToken("a@example.com", "ROLE_ADMIN");
+        assertThrows(JwtException.class, () -> current.isTokenExpired(forged));
+        assertThrows(JwtException.class, () -> current.isTokenExpired("not.a.token"));
+        assertThrows(JwtException.class, () -> current.isTokenExpired(""));
+    }
+
+    private static JwtUtil jwtUtil(String secret, int expirationMs) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", secret);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", expirationMs);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheEnabled", true);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(jwtUtil, "meterRegistry", new SimpleMeterRegistry());
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
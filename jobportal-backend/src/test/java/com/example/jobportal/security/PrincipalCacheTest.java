@@ -0,0 +1,51 @@
+package com.example.jobportal.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrincipalCacheTest {
+
+    @Test
+    void cachesLoadedPrincipals() {
+        PrincipalCache cache = new PrincipalCache(Duration.ofMinutes(5), 100, new SimpleMeterRegistry());
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a@example.com", email -> principal(email, "USER", loads));
+        cache.get("a@example.com", email -> principal(email, "USER", loads));
+        assertEquals(1, loads.get());
+
+        cache.invalidate("a@example.com");
+        cache.get("a@example.com", email -> principal(email, "USER", loads));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void doesNotCacheARowReadBeforeAnInvalidation() {
+        PrincipalCache cache = new PrincipalCache(Duration.ofMinutes(5), 100, new SimpleMeterRegistry());
+        AtomicInteger loads = new AtomicInteger();
+
+        // The role change commits while the old row is being loaded
+        UserDetails stale = cache.get("a@example.com", email -> {
+            UserDetails old = principal(email, "ADMIN", loads);
+            cache.invalidate(email);
+            return old;
+        });
+        assertEquals("ROLE_ADMIN", stale.getAuthorities().iterator().next().getAuthority());
+
+        UserDetails current = cache.get("a@example.com", email -> principal(email, "USER", loads));
+        assertEquals("ROLE_USER", current.getAuthorities().iterator().next().getAuthority());
+        assertEquals(2, loads.get());
+    }
+
+    private static UserDetails principal(String email, String role, AtomicInteger loads) {
+        loads.incrementAndGet();
+        return User.withUsername(email).password("unused").roles(role).build();
+    }
+}
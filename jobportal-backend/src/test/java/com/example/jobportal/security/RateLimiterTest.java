@@ -0,0 +1,42 @@
+package com.example.jobportal.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void newKeysEvictRefilledBucketsFirst() {
+        RateLimiter limiter = new RateLimiter(1, Duration.ofMillis(200), 1, 2, now::get);
+        assertEquals(0, limiter.tryAcquire("a"));
+        now.addAndGet(Duration.ofMillis(100).toNanos());
+        assertEquals(0, limiter.tryAcquire("b"));
+
+        now.addAndGet(Duration.ofMillis(150).toNanos());
+        // a has refilled and is evicted; b is still refilling and keeps its bucket
+        assertEquals(0, limiter.tryAcquire("c"));
+        assertEquals(2, limiter.size());
+        assertTrue(limiter.tryAcquire("b") > 0);
+    }
+
+    @Test
+    void fullTableStillAdmitsNewKeys() {
+        RateLimiter limiter = new RateLimiter(1, Duration.ofMillis(200), 1, 2, now::get);
+        assertEquals(0, limiter.tryAcquire("a"));
+        now.addAndGet(Duration.ofMillis(100).toNanos());
+        assertEquals(0, limiter.tryAcquire("b"));
+
+        // Nothing has refilled: the bucket closest to full (a) is forgotten instead of refusing c
+        assertEquals(0, limiter.tryAcquire("c"));
+        assertEquals(2, limiter.size());
+        assertTrue(limiter.tryAcquire("b") > 0);
+        assertTrue(limiter.tryAcquire("c") > 0);
+    }
+}
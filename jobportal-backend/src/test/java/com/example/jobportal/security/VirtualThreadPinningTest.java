@@ -0,0 +1,104 @@
+package com.example.jobportal.security;
+
+import com.example.jobportal.model.User;
+import com.example.jobportal.repository.UserRepository;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// With virtual threads handling requests, authenticated requests (JwtFilter, PrincipalCache misses and
+// hits, the users-table lookup) must not block while a virtual thread is pinned to its carrier.
+// jdk.VirtualThreadPinned is recorded with no threshold while concurrent requests run.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+@ActiveProfiles("test")
+class VirtualThreadPinningTest {
+
+    private static final int USERS = 20;
+    private static final int REQUESTS_PER_USER = 10;
+    private static final int REQUEST_TIMEOUT_SECONDS = 30;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void authenticatedRequestsDoNotPinCarriers() throws Exception {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            String email = "pinning-" + i + "@example.com";
+            userRepository.save(new User(email, "Pinning", "Test", "unused", "USER"));
+            tokens.add(jwtUtil.generateToken(email, "USER"));
+        }
+
+        ConcurrentLinkedQueue<String> pinned = new ConcurrentLinkedQueue<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", event -> pinned.add(describe(event)));
+            recording.startAsync();
+
+            ExecutorService clients = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<HttpStatus>> responses = new ArrayList<>();
+                for (int round = 0; round < REQUESTS_PER_USER; round++) {
+                    for (String token : tokens) {
+                        responses.add(clients.submit(() -> savedSearches(token)));
+                    }
+                }
+                for (Future<HttpStatus> response : responses) {
+                    assertEquals(HttpStatus.OK, response.get(REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+                }
+            } catch (TimeoutException e) {
+                // Pinned carriers can stall every request, as they would on a small machine in production
+                fail("Requests stalled, " + pinned.size() + " pinned virtual threads:\n" + String.join("\n", pinned));
+            } finally {
+                clients.shutdownNow();
+            }
+            // Returns once the events recorded so far have been delivered
+            recording.stop();
+        }
+        assertTrue(pinned.isEmpty(), () -> pinned.size() + " pinned virtual threads:\n" + String.join("\n", pinned));
+    }
+
+    private HttpStatus savedSearches(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        ResponseEntity<String> response = restTemplate.exchange("/api/alerts/searches", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+        return HttpStatus.valueOf(response.getStatusCode().value());
+    }
+
+    private static String describe(RecordedEvent event) {
+        return event.getDuration() + " " + (event.getStackTrace() == null ? "" : event.getStackTrace().getFrames().stream()
+                .limit(12).map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                .toList());
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.jobportal.service;
+
+import com.example.jobportal.model.Job;
+import com.example.jobportal.model.SavedSearch;
+import com.example.jobportal.repository.JobAlertRepository;
+import com.example.jobportal.repository.JobRepository;
+import com.example.jobportal.repository.SavedSearchRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Against an in-memory H2 database: saved_searches is a view whose rows call back into the test as
+// the load reads them, so a search can be deleted after the load has read it (public for H2 to call)
+public class JobAlertServiceTest {
+
+    private static JobAlertService loading;
+    private static Long deleteWhileLoading;
+
+    private final SavedSearchRepository savedSearchRepository = mock(SavedSearchRepository.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private JobAlertService service;
+
+    @BeforeEach
+    void createService() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:alerts-" + System.nanoTime()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE stored_searches (id BIGINT PRIMARY KEY, user_id BIGINT, title VARCHAR(255), location VARCHAR(255))");
+        jdbc.execute("CREATE ALIAS on_row FOR \"" + JobAlertServiceTest.class.getName() + ".onRow\"");
+        jdbc.execute("CREATE VIEW saved_searches AS SELECT id, user_id, title, location FROM stored_searches WHERE on_row(id)");
+        service = new JobAlertService(savedSearchRepository, mock(JobAlertRepository.class), mock(JobRepository.class),
+                dataSource, new DataSourceTransactionManager(dataSource), meterRegistry, 50, 1000, Duration.ofHours(1));
+        loading = service;
+    }
+
+    @AfterEach
+    void dropDatabase() {
+        service.shutdown();
+        jdbc.execute("SHUTDOWN");
+        loading = null;
+        deleteWhileLoading = null;
+    }
+
+    public static boolean onRow(long id) {
+        if (deleteWhileLoading != null && deleteWhileLoading == id) {
+            loading.deleteSearch(7L, id);
+        }
+        return true;
+    }
+
+    @Test
+    void searchDeletedDuringTheLoadStaysDeleted() {
+        jdbc.update("INSERT INTO stored_searches VALUES (1, 7, 'java developer', NULL), (2, 7, 'data engineer', NULL)");
+        SavedSearch deleted = new SavedSearch(7L, "java developer", null);
+        deleted.setId(1L);
+        when(savedSearchRepository.findById(1L)).thenReturn(Optional.of(deleted));
+        deleteWhileLoading = 1L;
+
+        service.loadIndex();
+
+        assertEquals(1, meterRegistry.get("jobs.alerts.saved-searches").gauge().value());
+        service.onJobSaved(new Job(10L, "Senior Java Developer", null, "Acme", "Pune"));
+        assertEquals(0, meterRegistry.get("jobs.alerts.pending").gauge().value());
+    }
+
+    @Test
+    void failedBatchIsWrittenByTheNextFlush() {
+        jdbc.update("INSERT INTO stored_searches VALUES (1, 7, 'java developer', NULL)");
+        service.loadIndex();
+        service.onJobSaved(new Job(10L, "Senior Java Developer", null, "Acme", "Pune"));
+
+        // job_alerts does not exist yet, so the insert fails
+        service.flush();
+        assertEquals(1, meterRegistry.get("jobs.alerts.pending").gauge().value());
+
+        jdbc.execute("CREATE TABLE job_alerts (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, user_id BIGINT NOT NULL, "
+                + "job_id BIGINT NOT NULL, saved_search_id BIGINT, created_at TIMESTAMP, UNIQUE (user_id, job_id))");
+        service.flush();
+        assertEquals(0, meterRegistry.get("jobs.alerts.pending").gauge().value());
+        assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM job_alerts WHERE user_id = 7 AND job_id = 10", Integer.class));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.jobportal.service;
+
+import com.example.jobportal.repository.JobRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JobVersionRegistryTest {
+
+    private record Row(Long getId, Long getVersion, Instant getUpdatedAt) implements JobVersionInfo {
+    }
+
+    private final JobRepository jobRepository = mock(JobRepository.class);
+    private final JobVersionRegistry registry = new JobVersionRegistry(jobRepository, mock(PlatformTransactionManager.class));
+
+    @Test
+    void jobDeletedDuringLoadStaysDeleted() {
+        Instant updatedAt = Instant.parse("2024-01-01T00:00:00Z");
+        // Job 2 is deleted after the load has read its row, before the row is recorded
+        when(jobRepository.streamVersions()).thenReturn(Stream.<JobVersionInfo>of(
+                        new Row(1L, 0L, updatedAt), new Row(2L, 3L, updatedAt), new Row(3L, 1L, updatedAt))
+                .peek(row -> {
+                    if (row.getId() == 2L) {
+                        registry.onJobDeleted(2L);
+                    }
+                }));
+
+        registry.load();
+
+        assertNotNull(registry.get(1L));
+        assertNull(registry.get(2L));
+        assertEquals(1L, registry.get(3L).version());
+    }
+}
@@ -4,13 +4,14 @@ import { useEffect, useState } from "react"
 import { MapPin, Building2, DollarSign, Clock, Briefcase, Heart } from "lucide-react"
 import { Button } from "../components/ui/button"
 import jobService from "../services/jobService" // ✅ default import
+import useJobStream from "../hooks/useJobStream"
 
 function JobList() {
   const [jobs, setJobs] = useState([])
   const [loading, setLoading] = useState(true)
   const [savedJobs, setSavedJobs] = useState(new Set())
 
-  useEffect(() => {
+  const loadJobs = () => {
     jobService
       .getAllJobs()
       .then((response) => {
@@ -21,7 +22,12 @@ function JobList() {
         console.error("Error fetching jobs:", error)
         setLoading(false)
       })
-  }, [])
+  }
+
+  useEffect(loadJobs, [])
+
+  // ✅ Live updates instead of refetching the list
+  useJobStream(setJobs, loadJobs)
 
   const toggleSaveJob = (jobId) => {
     const newSavedJobs = new Set(savedJobs)
@@ -96,7 +102,7 @@ function JobList() {
               </div>
 
               {/* Job Description */}
-              <p className="text-gray-700 mb-4 line-clamp-3 leading-relaxed">{job.description}</p>
+              <p className="text-gray-700 mb-4 line-clamp-3 leading-relaxed">{job.snippet}</p>
 
               {/* Job Details */}
               <div className="space-y-3 mb-6">
@@ -71,7 +71,7 @@ const JobList = ({ jobs, titleFilter, locationFilter }) => {
                 {job.company} - {job.location}
               </p>
               <p className="text-gray-600 text-sm line-clamp-3">
-                {job.description}
+                {job.snippet}
               </p>
               <div className="mt-4 flex justify-end">
                 <button className="text-indigo-600 hover:text-indigo-800 font-medium text-sm">
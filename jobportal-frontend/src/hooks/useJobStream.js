@@ -0,0 +1,32 @@
+import { useEffect, useRef } from "react";
+import { API_ENDPOINTS } from "../services/apiConfig";
+
+// Applies live job changes from the server to a job list. EventSource reconnects by itself and sends
+// Last-Event-ID, so only a "reload" event (bulk import, or too much missed) needs a full refetch.
+export default function useJobStream(setJobs, reload) {
+  const reloadRef = useRef(reload);
+  reloadRef.current = reload;
+
+  useEffect(() => {
+    const source = new EventSource(API_ENDPOINTS.JOBS.STREAM);
+
+    source.addEventListener("created", (event) => {
+      const job = JSON.parse(event.data);
+      setJobs((jobs) => [...jobs.filter((j) => j.id !== job.id), job]);
+    });
+    source.addEventListener("updated", (event) => {
+      const job = JSON.parse(event.data);
+      // A null snippet means the description did not change
+      setJobs((jobs) =>
+        jobs.map((j) => (j.id === job.id ? { ...j, ...job, snippet: job.snippet ?? j.snippet } : j))
+      );
+    });
+    source.addEventListener("deleted", (event) => {
+      const { id } = JSON.parse(event.data);
+      setJobs((jobs) => jobs.filter((j) => j.id !== id));
+    });
+    source.addEventListener("reload", () => reloadRef.current());
+
+    return () => source.close();
+  }, [setJobs]);
+}
@@ -8,7 +8,8 @@ export const API_ENDPOINTS = {
     },
     JOBS: {
         BASE: `${API_BASE_URL}/api/jobs`,
-        SEARCH: `${API_BASE_URL}/api/jobs/search`
+        SEARCH: `${API_BASE_URL}/api/jobs/search`,
+        STREAM: `${API_BASE_URL}/api/jobs/stream`
     }
 };
 